@@ -0,0 +1,55 @@
+package com.nutreBirth.service.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Food name resolution: exact/alias hash lookup in FoodCatalog versus the
+ * fuzzy FoodSearchIndex (a full plan-item name and a three-letter
+ * typeahead prefix), on the seed catalog.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodLookupBenchmark {
+
+    private FoodCatalog catalog;
+    private FoodSearchIndex index;
+
+    @Setup
+    public void setUp() throws Exception {
+        catalog = new FoodCatalog(new ObjectMapper(), "classpath:data/food_micros_seed.json");
+        index = new FoodSearchIndex(catalog);
+    }
+
+    @Benchmark
+    public int exactLookup() {
+        return catalog.indexOf("Chicken Breast (Grilled)");
+    }
+
+    @Benchmark
+    public List<FoodSearchIndex.Match> fuzzySearch() {
+        return index.search("Paneer tikka", 5);
+    }
+
+    @Benchmark
+    public List<FoodSearchIndex.Match> typeahead() {
+        return index.search("alm", 10);
+    }
+}
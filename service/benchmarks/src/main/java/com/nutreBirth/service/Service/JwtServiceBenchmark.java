@@ -0,0 +1,74 @@
+package com.nutreBirth.service.Service;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.security.JwtPrincipal;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Cost of minting and checking session JWTs. Lives in JwtService's package
+ * so it can run the same init() Spring would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = newJwtService(true);
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("bench@example.com");
+        user.setPlan(PlanType.PREMIUM);
+        token = jwtService.generate(user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generate(user);
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtService.parse(token);
+    }
+
+    /** What the auth filter calls: served from the verified-token cache after the first hit. */
+    @Benchmark
+    public JwtPrincipal verifyCached() {
+        return jwtService.verify(token);
+    }
+
+    static JwtService newJwtService(boolean tokenCache) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", "bench-secret-0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(service, "tokenCacheEnabled", tokenCache);
+        ReflectionTestUtils.setField(service, "tokenCacheMaxSize", 10_000);
+        service.init();
+        return service;
+    }
+}
@@ -0,0 +1,89 @@
+package com.nutreBirth.service.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * PDF export throughput: a stored seed plan (one or two pages) and a large
+ * custom plan posted as JSON (2000 items, ~40 pages), rendered to a null
+ * stream. The {@code pages} aux counter gives pages per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanPdfBenchmark {
+
+    private static final int CUSTOM_MEALS = 20;
+    private static final int ITEMS_PER_MEAL = 100;
+
+    private PlanPdfExporter exporter;
+    private PlanStore.Plan storedPlan;
+    private byte[] customPlan;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Pages {
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            pages = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        FoodCatalog catalog = new FoodCatalog(objectMapper, "classpath:data/food_micros_seed.json");
+        PlanStore planStore = new PlanStore(objectMapper, new FoodSearchIndex(catalog),
+                "classpath:data/plan_seed.json", 0.45);
+        exporter = new PlanPdfExporter(objectMapper, planStore);
+        storedPlan = planStore.getPlans().get(0);
+
+        StringBuilder json = new StringBuilder("{\"type\":\"custom\",\"calories\":2500,\"meals\":[");
+        for (int m = 0; m < CUSTOM_MEALS; m++) {
+            json.append(m == 0 ? "" : ",").append("{\"mealNumber\":").append(m + 1).append(",\"items\":[");
+            for (int i = 0; i < ITEMS_PER_MEAL; i++) {
+                json.append(i == 0 ? "" : ",").append("{\"name\":\"Paneer (full fat)\",\"quantity\":\"")
+                        .append(50 + i).append(" g\",\"protein\":9.2,\"carbs\":1.8,\"fats\":10.5,\"calories\":133}");
+            }
+            json.append("]}");
+        }
+        customPlan = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int storedPlan(Pages counters) throws IOException {
+        int pages = exporter.export(storedPlan, OutputStream.nullOutputStream());
+        counters.pages += pages;
+        return pages;
+    }
+
+    @Benchmark
+    public int largeCustomPlan(Pages counters) throws IOException {
+        int pages = exporter.exportCustom(new ByteArrayInputStream(customPlan), OutputStream.nullOutputStream());
+        counters.pages += pages;
+        return pages;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nutreBirth.service.benchmarks;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.slf4j.Logger;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Logging cost of one authenticated GET /me, before and after the logging
+ * cleanup, on a synchronous versus an async console appender.
+ *
+ * perRequestLogging replays the lines the filter, UserDetailsService and
+ * MeController used to emit with com.nutreBirth at DEBUG (the old default).
+ * sampledAccessLog is the current path: package at INFO, so the remaining
+ * debug calls are level checks, plus one access record at a 1% sample rate.
+ * Output goes to a null stream so only formatting, locking and queueing are
+ * measured. Several threads contend for the appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final String URI = "/me";
+    private static final String EMAIL = "user@example.com";
+    private static final double SAMPLE_RATE = 0.01;
+
+    @Param({ "sync", "async" })
+    public String appender;
+
+    private final String userId = UUID.randomUUID().toString();
+
+    private LoggerContext context;
+    private Logger filterLog;
+    private Logger userDetailsLog;
+    private Logger meLog;
+    private Logger accessLog;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        // Spring Boot's default console layout
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p 1 --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setName("CONSOLE");
+        console.setEncoder(encoder);
+        console.setOutputStream(OutputStream.nullOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if ("async".equals(appender)) {
+            // Same settings as logback-spring.xml
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setName("ASYNC_CONSOLE");
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+
+        ch.qos.logback.classic.Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+        // Old default was DEBUG for the whole package; now it is INFO unless the dev profile is on
+        context.getLogger("com.nutreBirth").setLevel(
+                params.getBenchmark().endsWith("perRequestLogging") ? Level.DEBUG : Level.INFO);
+
+        filterLog = context.getLogger("com.nutreBirth.service.security.JwtAuthenticationFilter");
+        userDetailsLog = context.getLogger("com.nutreBirth.service.security.CustomUserDetailsService");
+        meLog = context.getLogger("com.nutreBirth.service.controller.MeController");
+        accessLog = context.getLogger("access");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public void perRequestLogging() {
+        filterLog.debug("JwtAuthenticationFilter processing request: {} {}", "GET", URI);
+        filterLog.debug("JWT cookie found, attempting authentication for request: {}", URI);
+        filterLog.debug("Successfully extracted userId from JWT: {}", userId);
+        userDetailsLog.debug("Loading user by username (userId): {}", userId);
+        userDetailsLog.debug("Successfully parsed userId UUID: {}", userId);
+        userDetailsLog.debug("User found: {} with plan: {}", EMAIL, "FREE");
+        userDetailsLog.info("UserDetails loaded successfully for user: {}", EMAIL);
+        filterLog.debug("Resolved user details for userId: {} (mode={})", userId, "database");
+        filterLog.debug("Authentication set successfully for userId: {}", userId);
+        meLog.debug("GET /me endpoint called");
+        meLog.debug("Authenticated user name: {}", userId);
+        meLog.debug("Successfully parsed userId: {}", userId);
+        meLog.info("User data retrieved successfully for: {} ({})", EMAIL, userId);
+    }
+
+    @Benchmark
+    public void sampledAccessLog() {
+        userDetailsLog.debug("UserDetails loaded for userId: {} with plan: {}", userId, "FREE");
+        meLog.debug("User data retrieved for: {}", userId);
+        if (ThreadLocalRandom.current().nextDouble() < SAMPLE_RATE) {
+            accessLog.atInfo()
+                    .addKeyValue("method", "GET")
+                    .addKeyValue("path", URI)
+                    .addKeyValue("status", 200)
+                    .addKeyValue("duration_ms", 3L)
+                    .addKeyValue("user_id", userId)
+                    .addKeyValue("sampled", true)
+                    .log("{} {} {} {}ms user={}", "GET", URI, 200, 3L, userId);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.nutreBirth.service.benchmarks;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import com.nutreBirth.service.ServiceApplication;
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.repo.UserRepository;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * GET /me through the full filter chain (Spring Security + JWT filter +
+ * controller + H2 lookup) via MockMvc, i.e. everything but the socket.
+ *
+ * The Spring context keeps JIT-compiling for several seconds after startup,
+ * so warmup is long and three forks average out per-JVM layout effects;
+ * with fewer, the claims/database difference is inside the error bars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 10, time = 3)
+@Fork(3)
+public class MeEndpointBenchmark {
+
+    /** claims: principal from the JWT only; database: UserDetailsService per request */
+    @Param({ "claims", "database" })
+    public String authMode;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private Cookie authCookie;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        SpringApplication app = new SpringApplication(ServiceApplication.class);
+        // Mock servlet environment, same as @SpringBootTest's default: no Tomcat
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setApplicationContextFactory(type -> new GenericWebApplicationContext(new MockServletContext()));
+        // Command-line args so they win over application.yml
+        context = app.run(
+                "--jwt.secret=bench-secret-0123456789abcdef0123456789abcdef",
+                "--google.client-id=bench-client-id.apps.googleusercontent.com",
+                "--google.certs-refresh.enabled=false",
+                "--app.scheduling.enabled=false",
+                "--app.auth.mode=" + authMode,
+                "--logging.level.root=WARN",
+                "--logging.level.com.nutreBirth=WARN",
+                "--logging.level.org.springframework.security=WARN");
+
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+
+        User user = new User();
+        user.setEmail("bench-me@example.com");
+        user.setPlan(PlanType.PREMIUM);
+        user = context.getBean(UserRepository.class).save(user);
+        authCookie = new Cookie("nb_auth", context.getBean(JwtService.class).generate(user));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult me() throws Exception {
+        MvcResult result = mockMvc.perform(get("/me").cookie(authCookie)).andReturn();
+        if (result.getResponse().getStatus() != 200) {
+            throw new IllegalStateException("/me returned " + result.getResponse().getStatus());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.nutreBirth.service.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nutreBirth.service.utils.HmacSha256Verifier;
+import com.nutreBirth.service.utils.PaymentUtils;
+
+/**
+ * Razorpay signature check: the original PaymentUtils.hmacSha256 + String
+ * compare versus the thread-local HmacSha256Verifier used by /payment/verify.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentSignatureBenchmark {
+
+    private static final String SECRET = "bench-key-secret";
+    private static final String ORDER_ID = "order_P3sYbP0ElXd0Bz";
+    private static final String PAYMENT_ID = "pay_P3sZ9rHc1xQk2m";
+
+    private String signature;
+    private HmacSha256Verifier verifier;
+
+    @Setup
+    public void setUp() {
+        signature = PaymentUtils.hmacSha256(ORDER_ID + "|" + PAYMENT_ID, SECRET);
+        verifier = new HmacSha256Verifier(SECRET);
+    }
+
+    @Benchmark
+    public String paymentUtilsHmacSha256() {
+        return PaymentUtils.hmacSha256(ORDER_ID + "|" + PAYMENT_ID, SECRET);
+    }
+
+    @Benchmark
+    public boolean paymentUtilsVerify() {
+        return PaymentUtils.hmacSha256(ORDER_ID + "|" + PAYMENT_ID, SECRET).equals(signature);
+    }
+
+    @Benchmark
+    public boolean hmacVerifier() {
+        return verifier.verify(ORDER_ID, PAYMENT_ID, signature);
+    }
+}
@@ -0,0 +1,52 @@
+package com.nutreBirth.service.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * JwtAuthenticationFilter.extractJwtFromCookie with the auth cookie at the
+ * end of a typical browser cookie jar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CookieExtractionBenchmark {
+
+    @Param({ "1", "8" })
+    public int cookieCount;
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        Cookie[] cookies = new Cookie[cookieCount];
+        for (int i = 0; i < cookieCount - 1; i++) {
+            cookies[i] = new Cookie("_ga_" + i, "GA1.1." + i);
+        }
+        cookies[cookieCount - 1] = new Cookie("nb_auth", "header.payload.signature");
+        request = new MockHttpServletRequest("GET", "/me");
+        request.setCookies(cookies);
+    }
+
+    @Benchmark
+    public String extractJwtFromCookie() {
+        return JwtAuthenticationFilter.extractJwtFromCookie(request, "nb_auth");
+    }
+}
@@ -0,0 +1,125 @@
+package com.nutreBirth.service.Entity;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One user's logged totals for one day, kept up to date by every meal
+ * write (see DailyRollupService). micros holds one sum per Nutrient, in
+ * enum order.
+ */
+@Entity
+@Table(name = "daily_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_rollups_user_date", columnNames = { "userId", "logDate" })
+})
+public class DailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_rollups_seq")
+    @SequenceGenerator(name = "daily_rollups_seq", sequenceName = "daily_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDate logDate;
+
+    private int mealCount;
+    private int itemCount;
+    private double calories;
+    private double protein;
+    private double carbs;
+    private double fat;
+
+    @Column(nullable = false)
+    private double[] micros;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getLogDate() {
+        return logDate;
+    }
+
+    public void setLogDate(LocalDate logDate) {
+        this.logDate = logDate;
+    }
+
+    public int getMealCount() {
+        return mealCount;
+    }
+
+    public void setMealCount(int mealCount) {
+        this.mealCount = mealCount;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+
+    public double getCalories() {
+        return calories;
+    }
+
+    public void setCalories(double calories) {
+        this.calories = calories;
+    }
+
+    public double getProtein() {
+        return protein;
+    }
+
+    public void setProtein(double protein) {
+        this.protein = protein;
+    }
+
+    public double getCarbs() {
+        return carbs;
+    }
+
+    public void setCarbs(double carbs) {
+        this.carbs = carbs;
+    }
+
+    public double getFat() {
+        return fat;
+    }
+
+    public void setFat(double fat) {
+        this.fat = fat;
+    }
+
+    public double[] getMicros() {
+        return micros;
+    }
+
+    public void setMicros(double[] micros) {
+        this.micros = micros;
+    }
+}
@@ -0,0 +1,139 @@
+package com.nutreBirth.service.Entity;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A logged meal, as kept in the web app's Dexie "meals" table. clientId is
+ * the id the browser assigned, so re-sending a meal is a no-op.
+ *
+ * Ids come from a pooled sequence rather than IDENTITY: Hibernate can then
+ * assign ids without a round trip per row and batch the inserts. Deleted
+ * meals stay as tombstones so other devices learn about the delete.
+ */
+@Entity
+@Table(name = "meals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_meals_user_client_id", columnNames = { "userId", "clientId" })
+}, indexes = {
+        @Index(name = "idx_meals_user_date", columnList = "userId, logDate"),
+        @Index(name = "idx_meals_user_version", columnList = "userId, version")
+})
+public class Meal {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meals_seq")
+    @SequenceGenerator(name = "meals_seq", sequenceName = "meals_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false, length = 64)
+    private String clientId;
+
+    // Null only for tombstones of meals the server never saw
+    private LocalDate logDate;
+
+    @OneToMany(mappedBy = "meal", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<MealItem> items = new ArrayList<>();
+
+    private Instant createdAt = Instant.now();
+
+    // Sync bookkeeping: change counter value and the client's edit time (epoch ms)
+    private long version;
+    private long updatedAt;
+    private boolean deleted;
+
+    public void addItem(MealItem item) {
+        item.setMeal(this);
+        items.add(item);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(String clientId) {
+        this.clientId = clientId;
+    }
+
+    public LocalDate getLogDate() {
+        return logDate;
+    }
+
+    public void setLogDate(LocalDate logDate) {
+        this.logDate = logDate;
+    }
+
+    public List<MealItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<MealItem> items) {
+        this.items = items;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,129 @@
+package com.nutreBirth.service.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * One food in a logged meal: the web app's {foodId, grams} pair, plus the
+ * name and macros the client computed for those grams, if it sent them.
+ * micros is this item's contribution to the daily rollup, one value per
+ * Nutrient in enum order, resolved against the food catalog when the item
+ * was stored; empty when the food had no catalog match.
+ */
+@Entity
+@Table(name = "meal_items", indexes = {
+        @Index(name = "idx_meal_items_meal_id", columnList = "meal_id")
+})
+public class MealItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meal_items_seq")
+    @SequenceGenerator(name = "meal_items_seq", sequenceName = "meal_items_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "meal_id", nullable = false)
+    private Meal meal;
+
+    @Column(nullable = false, length = 128)
+    private String foodId;
+
+    private String name;
+
+    private double grams;
+
+    private Double calories;
+    private Double protein;
+    private Double carbs;
+    private Double fat;
+
+    private double[] micros;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Meal getMeal() {
+        return meal;
+    }
+
+    public void setMeal(Meal meal) {
+        this.meal = meal;
+    }
+
+    public String getFoodId() {
+        return foodId;
+    }
+
+    public void setFoodId(String foodId) {
+        this.foodId = foodId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public double getGrams() {
+        return grams;
+    }
+
+    public void setGrams(double grams) {
+        this.grams = grams;
+    }
+
+    public Double getCalories() {
+        return calories;
+    }
+
+    public void setCalories(Double calories) {
+        this.calories = calories;
+    }
+
+    public Double getProtein() {
+        return protein;
+    }
+
+    public void setProtein(Double protein) {
+        this.protein = protein;
+    }
+
+    public Double getCarbs() {
+        return carbs;
+    }
+
+    public void setCarbs(Double carbs) {
+        this.carbs = carbs;
+    }
+
+    public Double getFat() {
+        return fat;
+    }
+
+    public void setFat(Double fat) {
+        this.fat = fat;
+    }
+
+    public double[] getMicros() {
+        return micros;
+    }
+
+    public void setMicros(double[] micros) {
+        this.micros = micros;
+    }
+}
@@ -0,0 +1,93 @@
+package com.nutreBirth.service.Entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.nutreBirth.service.Enum.PaymentSource;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A verified Razorpay payment. The unique razorpayPaymentId makes every
+ * path that records a payment (client verify, webhook) idempotent.
+ */
+@Entity
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_order_id", columnList = "razorpayOrderId"),
+        @Index(name = "idx_payments_user_id", columnList = "userId")
+})
+public class Payment {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String razorpayPaymentId;
+
+    private String razorpayOrderId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PaymentSource source;
+
+    private Instant verifiedAt = Instant.now();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRazorpayPaymentId() {
+        return razorpayPaymentId;
+    }
+
+    public void setRazorpayPaymentId(String razorpayPaymentId) {
+        this.razorpayPaymentId = razorpayPaymentId;
+    }
+
+    public String getRazorpayOrderId() {
+        return razorpayOrderId;
+    }
+
+    public void setRazorpayOrderId(String razorpayOrderId) {
+        this.razorpayOrderId = razorpayOrderId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public PaymentSource getSource() {
+        return source;
+    }
+
+    public void setSource(PaymentSource source) {
+        this.source = source;
+    }
+
+    public Instant getVerifiedAt() {
+        return verifiedAt;
+    }
+
+    public void setVerifiedAt(Instant verifiedAt) {
+        this.verifiedAt = verifiedAt;
+    }
+}
@@ -0,0 +1,132 @@
+package com.nutreBirth.service.Entity;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.nutreBirth.service.Enum.WebhookEventStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Durable queue row for a verified Razorpay webhook delivery. Rows are
+ * appended by the webhook endpoint and drained by PaymentWebhookProcessor.
+ */
+@Entity
+@Table(name = "payment_webhook_events", indexes = {
+        @Index(name = "idx_webhook_events_status_id", columnList = "status, id"),
+        @Index(name = "idx_webhook_events_payment_id", columnList = "paymentId")
+})
+public class PaymentWebhookEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // X-Razorpay-Event-Id; redeliveries of the same event collapse on this
+    @Column(unique = true, nullable = false)
+    private String eventId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    private String paymentId;
+    private String orderId;
+    private UUID userId;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private WebhookEventStatus status = WebhookEventStatus.PENDING;
+
+    private Instant receivedAt = Instant.now();
+    private Instant processedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public WebhookEventStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(WebhookEventStatus status) {
+        this.status = status;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(Instant receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public Instant getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(Instant processedAt) {
+        this.processedAt = processedAt;
+    }
+}
@@ -0,0 +1,132 @@
+package com.nutreBirth.service.Entity;
+
+import java.util.UUID;
+
+import com.nutreBirth.service.Enum.ActivityLevel;
+import com.nutreBirth.service.Enum.Sex;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Server copy of the web app's UserProfile (one per user), kept in step
+ * with the browser through /sync.
+ */
+@Entity
+@Table(name = "profiles")
+public class Profile {
+    @Id
+    private UUID userId;
+
+    private Double heightCm;
+    private Double weightKg;
+    private Integer age;
+
+    @Enumerated(EnumType.STRING)
+    private Sex sex;
+
+    @Enumerated(EnumType.STRING)
+    private ActivityLevel activityLevel;
+
+    private Double calorieTarget;
+
+    @Column(name = "protein_target_g")
+    private Double proteinTargetG;
+    private String dietType;
+
+    // Sync bookkeeping: change counter value and the client's edit time (epoch ms)
+    private long version;
+    private long updatedAt;
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Double getHeightCm() {
+        return heightCm;
+    }
+
+    public void setHeightCm(Double heightCm) {
+        this.heightCm = heightCm;
+    }
+
+    public Double getWeightKg() {
+        return weightKg;
+    }
+
+    public void setWeightKg(Double weightKg) {
+        this.weightKg = weightKg;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Sex getSex() {
+        return sex;
+    }
+
+    public void setSex(Sex sex) {
+        this.sex = sex;
+    }
+
+    public ActivityLevel getActivityLevel() {
+        return activityLevel;
+    }
+
+    public void setActivityLevel(ActivityLevel activityLevel) {
+        this.activityLevel = activityLevel;
+    }
+
+    public Double getCalorieTarget() {
+        return calorieTarget;
+    }
+
+    public void setCalorieTarget(Double calorieTarget) {
+        this.calorieTarget = calorieTarget;
+    }
+
+    public Double getProteinTargetG() {
+        return proteinTargetG;
+    }
+
+    public void setProteinTargetG(Double proteinTargetG) {
+        this.proteinTargetG = proteinTargetG;
+    }
+
+    public String getDietType() {
+        return dietType;
+    }
+
+    public void setDietType(String dietType) {
+        this.dietType = dietType;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nutreBirth.service.Entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-user change counter. Every write to a user's synced rows locks this
+ * row, takes the next values and stamps them on the rows it touches, so a
+ * user's versions increase in commit order and can serve as sync cursors.
+ */
+@Entity
+@Table(name = "user_sync_state")
+public class UserSyncState {
+    @Id
+    private UUID userId;
+
+    private long version;
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
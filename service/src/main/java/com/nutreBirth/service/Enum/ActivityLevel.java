@@ -0,0 +1,25 @@
+package com.nutreBirth.service.Enum;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Activity multipliers applied to BMR; same table as calcTDEE in the web app. */
+public enum ActivityLevel {
+    @JsonProperty("sedentary")
+    SEDENTARY(1.2),
+    @JsonProperty("light")
+    LIGHT(1.375),
+    @JsonProperty("moderate")
+    MODERATE(1.55),
+    @JsonProperty("active")
+    ACTIVE(1.725);
+
+    private final double factor;
+
+    ActivityLevel(double factor) {
+        this.factor = factor;
+    }
+
+    public double getFactor() {
+        return factor;
+    }
+}
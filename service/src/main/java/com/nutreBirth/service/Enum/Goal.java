@@ -0,0 +1,23 @@
+package com.nutreBirth.service.Enum;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** Protein grams per kg of body weight; same table as calcProteinTarget in the web app. */
+public enum Goal {
+    @JsonProperty("maintain")
+    MAINTAIN(1.2),
+    @JsonProperty("build")
+    BUILD(1.6),
+    @JsonProperty("lose")
+    LOSE(1.4);
+
+    private final double proteinPerKg;
+
+    Goal(double proteinPerKg) {
+        this.proteinPerKg = proteinPerKg;
+    }
+
+    public double getProteinPerKg() {
+        return proteinPerKg;
+    }
+}
@@ -0,0 +1,43 @@
+package com.nutreBirth.service.Enum;
+
+/**
+ * Micronutrient columns of the food catalog. {@code seedKey} is the column
+ * name in food_micros_seed.json, {@code field} the PlanFoodItem key the web
+ * app uses (units are part of the name).
+ */
+public enum Nutrient {
+    FIBER("Fiber", "fiber_g"),
+    IRON("Iron (mg)", "iron_mg"),
+    SODIUM("Sodium (mg)", "sodium_mg"),
+    CALCIUM("Calcium (mg)", "calcium_mg"),
+    MAGNESIUM("Magnesium (mg)", "magnesium_mg"),
+    ZINC("Zinc (mg)", "zinc_mg"),
+    VIT_A("Vit A (µg)", "vitA_ug"),
+    VIT_B1("Vit B1 (mg)", "vitB1_mg"),
+    VIT_B2("Vit B2 (mg)", "vitB2_mg"),
+    VIT_B3("Vit B3 (mg)", "vitB3_mg"),
+    VIT_B5("Vit B5 (mg)", "vitB5_mg"),
+    VIT_B6("Vit B6 (mg)", "vitB6_mg"),
+    VIT_B9("Vit B9 (µg)", "vitB9_ug"),
+    VIT_B12("Vit B12 (µg)", "vitB12_ug"),
+    VIT_C("Vit C (mg)", "vitC_mg"),
+    VIT_D("Vit D (IU)", "vitD_IU"),
+    VIT_E("Vit E (mg)", "vitE_mg"),
+    VIT_K("Vit K (µg)", "vitK_ug");
+
+    private final String seedKey;
+    private final String field;
+
+    Nutrient(String seedKey, String field) {
+        this.seedKey = seedKey;
+        this.field = field;
+    }
+
+    public String getSeedKey() {
+        return seedKey;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
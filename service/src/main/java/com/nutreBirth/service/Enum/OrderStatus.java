@@ -0,0 +1,6 @@
+package com.nutreBirth.service.Enum;
+
+public enum OrderStatus {
+    CREATED,
+    PAID
+}
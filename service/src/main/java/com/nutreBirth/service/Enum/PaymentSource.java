@@ -0,0 +1,6 @@
+package com.nutreBirth.service.Enum;
+
+public enum PaymentSource {
+    CLIENT_VERIFY,
+    WEBHOOK
+}
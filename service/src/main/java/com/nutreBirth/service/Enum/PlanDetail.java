@@ -0,0 +1,9 @@
+package com.nutreBirth.service.Enum;
+
+/** How much of a diet plan a response carries. */
+public enum PlanDetail {
+    /** Type, calories and meal/plan totals; no food items. */
+    SUMMARY,
+    /** Every meal's items with their micros: the premium full plan. */
+    FULL
+}
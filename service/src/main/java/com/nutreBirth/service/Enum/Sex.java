@@ -0,0 +1,12 @@
+package com.nutreBirth.service.Enum;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum Sex {
+    @JsonProperty("male")
+    MALE,
+    @JsonProperty("female")
+    FEMALE,
+    @JsonProperty("other")
+    OTHER
+}
@@ -0,0 +1,9 @@
+package com.nutreBirth.service.Enum;
+
+public enum WebhookEventStatus {
+    PENDING,
+    APPLIED,
+    SKIPPED,
+    // Money was captured but no user could be tied to it; needs a manual look
+    UNRESOLVED
+}
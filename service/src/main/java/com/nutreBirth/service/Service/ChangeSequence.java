@@ -0,0 +1,54 @@
+package com.nutreBirth.service.Service;
+
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nutreBirth.service.Entity.UserSyncState;
+import com.nutreBirth.service.repo.UserSyncStateRepository;
+
+/**
+ * Hands out per-user change versions for /sync. The user's counter row stays
+ * locked until the caller's transaction ends, so a later version can never
+ * become visible before an earlier one.
+ */
+@Service
+public class ChangeSequence {
+
+    private final UserSyncStateRepository stateRepository;
+
+    public ChangeSequence(UserSyncStateRepository stateRepository) {
+        this.stateRepository = stateRepository;
+    }
+
+    /**
+     * Reserves {@code count} versions and returns the first; the caller
+     * stamps first, first + 1, ... on the rows it writes.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long reserve(UUID userId, int count) {
+        UserSyncState state = lock(userId);
+        long first = state.getVersion() + 1;
+        state.setVersion(state.getVersion() + count);
+        return first;
+    }
+
+    /** Locks the user's counter row without taking versions, e.g. to rebuild derived data. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserSyncState lock(UUID userId) {
+        return stateRepository.findForUpdate(userId).orElseGet(() -> {
+            UserSyncState created = new UserSyncState();
+            created.setUserId(userId);
+            // A concurrent first write for the same user fails on the primary key here
+            return stateRepository.saveAndFlush(created);
+        });
+    }
+
+    /** Latest version handed out for the user; 0 before the first change. */
+    @Transactional(readOnly = true)
+    public long current(UUID userId) {
+        return stateRepository.findById(userId).map(UserSyncState::getVersion).orElse(0L);
+    }
+}
@@ -0,0 +1,53 @@
+package com.nutreBirth.service.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.nutreBirth.service.repo.MealRepository;
+
+/**
+ * Rebuilds every user's daily rollups once the application is up. Meant for
+ * backfills (first deploy of the rollup table, a change in how totals are
+ * computed): start one instance with app.rollups.rebuild-on-startup=true.
+ * Each user is rebuilt in its own transaction, so writes are only held up
+ * for that user while it runs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.rollups.rebuild-on-startup", havingValue = "true")
+public class DailyRollupBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupBackfill.class);
+
+    private final MealRepository mealRepository;
+    private final DailyRollupService rollupService;
+
+    public DailyRollupBackfill(MealRepository mealRepository, DailyRollupService rollupService) {
+        this.mealRepository = mealRepository;
+        this.rollupService = rollupService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        List<UUID> users = mealRepository.findUserIds();
+        long start = System.nanoTime();
+        int days = 0;
+        int failed = 0;
+        for (UUID userId : users) {
+            try {
+                days += rollupService.rebuild(userId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Could not rebuild daily rollups for user {}: {}", userId, e.getMessage());
+            }
+        }
+        log.info("Rebuilt daily rollups: {} user(s), {} day(s), {} failed, in {} ms",
+                users.size(), days, failed, (System.nanoTime() - start) / 1_000_000);
+    }
+}
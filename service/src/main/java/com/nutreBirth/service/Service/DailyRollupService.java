@@ -0,0 +1,201 @@
+package com.nutreBirth.service.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nutreBirth.service.Entity.DailyRollup;
+import com.nutreBirth.service.Entity.Meal;
+import com.nutreBirth.service.Entity.MealItem;
+import com.nutreBirth.service.Enum.Nutrient;
+import com.nutreBirth.service.repo.DailyRollupRepository;
+import com.nutreBirth.service.repo.MealRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Per-user, per-day totals of logged meals, so progress reads cost one row
+ * per day instead of a scan over meal items.
+ *
+ * Meal writes collect what they add and remove in a {@link Deltas} and
+ * apply it in their own transaction. Both meal write paths take the user's
+ * ChangeSequence lock before they read the meals the deltas are computed
+ * from, so rollup updates for one user never interleave.
+ *
+ * An item's micros are resolved against the food catalog by name (or food
+ * id) and scaled by grams once, when the item is first added, and stored on
+ * the item; removing it subtracts the stored values, so the rollup stays
+ * exact when catalog matching changes later. Items with no catalog match
+ * add macros only. {@link #rebuild} recomputes a user's rows from scratch
+ * for backfills.
+ */
+@Service
+public class DailyRollupService {
+
+    // Layout of a per-day sums array
+    private static final int MEALS = 0;
+    private static final int ITEMS = 1;
+    private static final int CALORIES = 2;
+    private static final int PROTEIN = 3;
+    private static final int CARBS = 4;
+    private static final int FAT = 5;
+    private static final int MICROS = 6;
+    private static final int WIDTH = MICROS + Nutrient.values().length;
+
+    private static final int REBUILD_PAGE = 500;
+
+    private final DailyRollupRepository rollupRepository;
+    private final MealRepository mealRepository;
+    private final ChangeSequence changeSequence;
+    private final FoodSearchIndex foodIndex;
+    private final EntityManager entityManager;
+    private final double minMatchScore;
+
+    public DailyRollupService(DailyRollupRepository rollupRepository, MealRepository mealRepository,
+            ChangeSequence changeSequence, FoodSearchIndex foodIndex, EntityManager entityManager,
+            @Value("${app.foods.search.min-match-score:0.45}") double minMatchScore) {
+        this.rollupRepository = rollupRepository;
+        this.mealRepository = mealRepository;
+        this.changeSequence = changeSequence;
+        this.foodIndex = foodIndex;
+        this.entityManager = entityManager;
+        this.minMatchScore = minMatchScore;
+    }
+
+    public Deltas deltas() {
+        return new Deltas();
+    }
+
+    /** Adds {@code deltas} to the user's rollups; days left without meals are deleted. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(UUID userId, Deltas deltas) {
+        if (deltas.byDay.isEmpty()) {
+            return;
+        }
+        Map<LocalDate, DailyRollup> rows = new HashMap<>();
+        rollupRepository.findByUserIdAndLogDateIn(userId, deltas.byDay.keySet())
+                .forEach(row -> rows.put(row.getLogDate(), row));
+
+        deltas.byDay.forEach((day, sums) -> {
+            DailyRollup row = rows.get(day);
+            if (row == null) {
+                row = new DailyRollup();
+                row.setUserId(userId);
+                row.setLogDate(day);
+                row.setMicros(new double[Nutrient.values().length]);
+            }
+            row.setMealCount(row.getMealCount() + (int) sums[MEALS]);
+            row.setItemCount(row.getItemCount() + (int) sums[ITEMS]);
+            if (row.getMealCount() <= 0) {
+                if (row.getId() != null) {
+                    rollupRepository.delete(row);
+                }
+                return;
+            }
+            row.setCalories(row.getCalories() + sums[CALORIES]);
+            row.setProtein(row.getProtein() + sums[PROTEIN]);
+            row.setCarbs(row.getCarbs() + sums[CARBS]);
+            row.setFat(row.getFat() + sums[FAT]);
+            // A new array, so Hibernate sees the change
+            double[] micros = row.getMicros().clone();
+            for (int i = 0; i < micros.length; i++) {
+                micros[i] += sums[MICROS + i];
+            }
+            row.setMicros(micros);
+            rollupRepository.save(row);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRollup> range(UUID userId, LocalDate from, LocalDate to) {
+        return rollupRepository.findByUserIdAndLogDateBetweenOrderByLogDate(userId, from, to);
+    }
+
+    /** Recomputes the user's rollups from their meals; returns the number of days. */
+    @Transactional
+    public int rebuild(UUID userId) {
+        changeSequence.lock(userId);
+        rollupRepository.deleteByUser(userId);
+
+        Deltas deltas = new Deltas();
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = mealRepository.findLiveIds(userId, afterId, PageRequest.of(0, REBUILD_PAGE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            mealRepository.findWithItems(ids).forEach(deltas::add);
+            afterId = ids.get(ids.size() - 1);
+            // Keeps micros stamped on items stored before they were recorded
+            entityManager.flush();
+            entityManager.clear();
+        }
+        apply(userId, deltas);
+        return deltas.byDay.size();
+    }
+
+    private static double orZero(Double value) {
+        return value == null ? 0 : value;
+    }
+
+    // The item's stored micros; resolved and stored on first use
+    private double[] micros(MealItem item) {
+        if (item.getMicros() != null) {
+            return item.getMicros();
+        }
+        String name = item.getName() != null ? item.getName() : item.getFoodId().replace('_', ' ');
+        int row = foodIndex.resolve(name, minMatchScore);
+        double[] micros = new double[row < 0 ? 0 : Nutrient.values().length];
+        if (row >= 0) {
+            FoodCatalog catalog = foodIndex.getCatalog();
+            for (Nutrient nutrient : Nutrient.values()) {
+                double per100g = catalog.value(row, nutrient);
+                if (!Double.isNaN(per100g)) {
+                    micros[nutrient.ordinal()] = per100g * item.getGrams() / 100;
+                }
+            }
+        }
+        item.setMicros(micros);
+        return micros;
+    }
+
+    /** Per-day changes made by one write: {@link #add} new meal states, {@link #remove} old ones. */
+    public final class Deltas {
+        private final Map<LocalDate, double[]> byDay = new HashMap<>();
+
+        public void add(Meal meal) {
+            accumulate(meal, 1);
+        }
+
+        public void remove(Meal meal) {
+            accumulate(meal, -1);
+        }
+
+        private void accumulate(Meal meal, int sign) {
+            if (meal.isDeleted() || meal.getLogDate() == null) {
+                return;
+            }
+            double[] sums = byDay.computeIfAbsent(meal.getLogDate(), day -> new double[WIDTH]);
+            sums[MEALS] += sign;
+            for (MealItem item : meal.getItems()) {
+                sums[ITEMS] += sign;
+                sums[CALORIES] += sign * orZero(item.getCalories());
+                sums[PROTEIN] += sign * orZero(item.getProtein());
+                sums[CARBS] += sign * orZero(item.getCarbs());
+                sums[FAT] += sign * orZero(item.getFat());
+                double[] micros = micros(item);
+                for (int i = 0; i < micros.length; i++) {
+                    sums[MICROS + i] += sign * micros[i];
+                }
+            }
+        }
+    }
+}
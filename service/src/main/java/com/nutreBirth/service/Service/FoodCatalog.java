@@ -0,0 +1,295 @@
+package com.nutreBirth.service.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Enum.Nutrient;
+
+/**
+ * Food micronutrient catalog, loaded once from the seed the web app ships
+ * (src/db/food_micros_seed.json) and matched the same way as foodMicros.ts.
+ *
+ * Rows are stored column-wise: one double[] per {@link Nutrient}, NaN for a
+ * missing value. Names are normalized once at load into a hash index, and
+ * aliases are resolved to row numbers up front, so a lookup is a normalize
+ * plus at most two hash probes.
+ */
+@Service
+public class FoodCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(FoodCatalog.class);
+
+    // Same table as NAME_ALIASES in foodMicros.ts; plan names are often more generic than the seed's
+    private static final Map<String, String> NAME_ALIASES = Map.of(
+            "paneer", "paneer full fat",
+            "greek yogurt", "greek yogurt low fat",
+            "whole eggs", "whole eggs boiled",
+            "egg whites", "egg whites boiled",
+            "chicken breast", "chicken breast cooked",
+            "fish", "atlantic salmon cooked");
+
+    // Preparation words dropped by the fallback lookup
+    private static final String[] PREPARATION_WORDS = { "raw", "cooked", "boiled", "grilled" };
+
+    private final String seedLocation;
+    private final ObjectMapper objectMapper;
+
+    private String[] names;
+    private String[] categories;
+    private String[] keyAntioxidants;
+    private double[][] columns;
+    private Map<String, Integer> index;
+
+    public FoodCatalog(ObjectMapper objectMapper,
+            @Value("${app.foods.seed-location:classpath:data/food_micros_seed.json}") String seedLocation) throws IOException {
+        this.objectMapper = objectMapper;
+        this.seedLocation = seedLocation;
+        load();
+    }
+
+    private void load() throws IOException {
+        Resource resource = new DefaultResourceLoader().getResource(seedLocation);
+        JsonNode rows;
+        try (InputStream in = resource.getInputStream()) {
+            rows = objectMapper.readTree(in);
+        }
+
+        int capacity = rows.size();
+        String[] rowNames = new String[capacity];
+        String[] rowCategories = new String[capacity];
+        String[] rowAntioxidants = new String[capacity];
+        Nutrient[] nutrients = Nutrient.values();
+        double[][] cols = new double[nutrients.length][capacity];
+        Map<String, Integer> byName = new HashMap<>(capacity * 2);
+
+        int count = 0;
+        for (JsonNode row : rows) {
+            String name = firstText(row, "Food Item", "foodItem", "name");
+            if (name == null) {
+                continue;
+            }
+            rowNames[count] = name;
+            rowCategories[count] = text(row.get("Category"));
+            rowAntioxidants[count] = text(row.get("Key Antioxidant"));
+            for (Nutrient nutrient : nutrients) {
+                cols[nutrient.ordinal()][count] = number(row.get(nutrient.getSeedKey()));
+            }
+            // Later rows win, like the Map in foodMicros.ts
+            byName.put(normalize(name), count);
+            count++;
+        }
+
+        // Aliases point straight at their row so they cost one probe. The seed's
+        // "(...)" qualifiers are dropped by normalize(), so an alias target such as
+        // "paneer full fat" may not exist; those aliases are skipped, leaving the
+        // plain name to match directly (foodMicros.ts returns nothing for them).
+        for (Map.Entry<String, String> alias : NAME_ALIASES.entrySet()) {
+            Integer row = find(byName, normalize(alias.getValue()));
+            if (row != null) {
+                byName.put(normalize(alias.getKey()), row);
+            }
+        }
+
+        for (int i = 0; i < cols.length; i++) {
+            cols[i] = Arrays.copyOf(cols[i], count);
+        }
+        this.names = Arrays.copyOf(rowNames, count);
+        this.categories = Arrays.copyOf(rowCategories, count);
+        this.keyAntioxidants = Arrays.copyOf(rowAntioxidants, count);
+        this.columns = cols;
+        this.index = Map.copyOf(byName);
+        log.info("Food catalog loaded: {} foods from {}", count, seedLocation);
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    /** Row number for a food name, or -1. */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer row = find(index, normalize(name));
+        return row != null ? row : -1;
+    }
+
+    // Exact normalized match, then the name without preparation words
+    private static Integer find(Map<String, Integer> byName, String key) {
+        Integer row = byName.get(key);
+        if (row == null) {
+            String simplified = stripPreparation(key);
+            if (!simplified.equals(key)) {
+                row = byName.get(simplified);
+            }
+        }
+        return row;
+    }
+
+    public String name(int row) {
+        return names[row];
+    }
+
+    public String keyAntioxidant(int row) {
+        return keyAntioxidants[row];
+    }
+
+    /** Value per 100 g, or NaN when the seed has none. */
+    public double value(int row, Nutrient nutrient) {
+        return columns[nutrient.ordinal()][row];
+    }
+
+    /**
+     * JSON view of one row with PlanFoodItem field names; missing values are
+     * left out so the web app can merge it under plan values.
+     */
+    public Map<String, Object> describe(int row) {
+        Map<String, Object> food = new LinkedHashMap<>();
+        food.put("name", names[row]);
+        if (categories[row] != null) {
+            food.put("category", categories[row]);
+        }
+        for (Nutrient nutrient : Nutrient.values()) {
+            double v = columns[nutrient.ordinal()][row];
+            if (!Double.isNaN(v)) {
+                food.put(nutrient.getField(), v);
+            }
+        }
+        if (keyAntioxidants[row] != null) {
+            food.put("keyAntioxidant", keyAntioxidants[row]);
+        }
+        return food;
+    }
+
+    /**
+     * normalizeFoodName from foodMicros.ts: lower-case, drop "(...)" groups,
+     * commas to spaces, collapse whitespace, trim.
+     */
+    static String normalize(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '(') {
+                int close = lower.indexOf(')', i + 1);
+                if (close >= 0) {
+                    i = close;
+                    continue;
+                }
+            }
+            if (c == ',' || Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            out.append(c);
+        }
+        return out.toString();
+    }
+
+    /** Removes whole-word preparation terms ("raw", "cooked", ...) from a normalized name. */
+    static String stripPreparation(String key) {
+        StringBuilder out = new StringBuilder(key.length());
+        int i = 0;
+        while (i < key.length()) {
+            if (!isWordChar(key.charAt(i))) {
+                out.append(key.charAt(i++));
+                continue;
+            }
+            int end = i;
+            while (end < key.length() && isWordChar(key.charAt(end))) {
+                end++;
+            }
+            if (!isPreparationWord(key, i, end)) {
+                out.append(key, i, end);
+            }
+            i = end;
+        }
+        return normalizeSpaces(out);
+    }
+
+    private static boolean isPreparationWord(String key, int start, int end) {
+        for (String word : PREPARATION_WORDS) {
+            if (word.length() == end - start && key.regionMatches(start, word, 0, word.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static String normalizeSpaces(CharSequence s) {
+        StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) == ' ') {
+            out.setLength(len - 1);
+        }
+        return out.toString();
+    }
+
+    private static String firstText(JsonNode row, String... keys) {
+        for (String key : keys) {
+            String value = text(row.get(key));
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || !node.isTextual()) {
+            return null;
+        }
+        String value = node.asText().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static double number(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return Double.NaN;
+        }
+        if (node.isNumber()) {
+            return node.doubleValue();
+        }
+        if (node.isTextual() && !node.asText().isBlank()) {
+            try {
+                return Double.parseDouble(node.asText().trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+}
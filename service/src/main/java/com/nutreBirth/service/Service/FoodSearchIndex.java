@@ -0,0 +1,206 @@
+package com.nutreBirth.service.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Fuzzy name search over {@link FoodCatalog}, built once at startup.
+ *
+ * Each food name is tokenized into words (including the "(...)"
+ * qualifiers the exact index drops). Two structures are kept:
+ * trigram postings (trigram → sorted row numbers) for typo- and
+ * plural-tolerant similarity, and a sorted word array searched by binary
+ * search for prefix matches while the user is still typing.
+ *
+ * A row's score is a weighted mix of trigram Jaccard similarity and the
+ * fraction of query words that prefix a word of the row; the best
+ * {@code limit} rows are returned. Queries allocate only a few arrays the
+ * size of the catalog.
+ */
+@Service
+public class FoodSearchIndex {
+
+    private static final double TRIGRAM_WEIGHT = 0.6;
+    private static final double PREFIX_WEIGHT = 0.4;
+
+    private final FoodCatalog catalog;
+    private final Map<String, int[]> postings;
+    private final int[] gramCounts;
+    private final String[] words;
+    private final int[] wordRows;
+
+    public FoodSearchIndex(FoodCatalog catalog) {
+        this.catalog = catalog;
+        int rows = catalog.size();
+
+        Map<String, List<Integer>> gramRows = new HashMap<>();
+        List<Word> wordEntries = new ArrayList<>();
+        gramCounts = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            String[] tokens = tokenize(catalog.name(row));
+            Set<String> grams = trigrams(tokens);
+            gramCounts[row] = grams.size();
+            for (String gram : grams) {
+                gramRows.computeIfAbsent(gram, g -> new ArrayList<>()).add(row);
+            }
+            for (String token : tokens) {
+                wordEntries.add(new Word(token, row));
+            }
+        }
+
+        Map<String, int[]> built = new HashMap<>(gramRows.size() * 2);
+        gramRows.forEach((gram, list) -> built.put(gram, list.stream().mapToInt(Integer::intValue).toArray()));
+        postings = Map.copyOf(built);
+
+        wordEntries.sort(Comparator.comparing(Word::text));
+        words = new String[wordEntries.size()];
+        wordRows = new int[wordEntries.size()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = wordEntries.get(i).text();
+            wordRows[i] = wordEntries.get(i).row();
+        }
+    }
+
+    public record Match(int row, double score) {
+    }
+
+    private record Word(String text, int row) {
+    }
+
+    /** Best matches for a (possibly partial) name, highest score first. */
+    public List<Match> search(String query, int limit) {
+        String[] tokens = tokenize(query);
+        if (tokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        int rows = gramCounts.length;
+
+        Set<String> queryGrams = trigrams(tokens);
+        int[] shared = new int[rows];
+        for (String gram : queryGrams) {
+            int[] posting = postings.get(gram);
+            if (posting != null) {
+                for (int row : posting) {
+                    shared[row]++;
+                }
+            }
+        }
+
+        // How many query words prefix some word of each row
+        int[] prefixHits = new int[rows];
+        int[] lastToken = new int[rows];
+        Arrays.fill(lastToken, -1);
+        for (int t = 0; t < tokens.length; t++) {
+            String token = tokens[t];
+            for (int i = lowerBound(token); i < words.length && words[i].startsWith(token); i++) {
+                int row = wordRows[i];
+                if (lastToken[row] != t) {
+                    lastToken[row] = t;
+                    prefixHits[row]++;
+                }
+            }
+        }
+
+        int[] topRows = new int[Math.min(limit, rows)];
+        double[] topScores = new double[topRows.length];
+        int size = 0;
+        for (int row = 0; row < rows; row++) {
+            if (shared[row] == 0 && prefixHits[row] == 0) {
+                continue;
+            }
+            double jaccard = (double) shared[row] / (queryGrams.size() + gramCounts[row] - shared[row]);
+            double score = TRIGRAM_WEIGHT * jaccard + PREFIX_WEIGHT * prefixHits[row] / tokens.length;
+            if (size < topRows.length) {
+                size++;
+            } else if (score <= topScores[size - 1]) {
+                continue;
+            }
+            // Insertion into the small sorted top-k arrays
+            int i = size - 1;
+            while (i > 0 && topScores[i - 1] < score) {
+                topRows[i] = topRows[i - 1];
+                topScores[i] = topScores[i - 1];
+                i--;
+            }
+            topRows[i] = row;
+            topScores[i] = score;
+        }
+
+        List<Match> matches = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            matches.add(new Match(topRows[i], topScores[i]));
+        }
+        return matches;
+    }
+
+    /** Row of the single best match scoring at least {@code minScore}, or -1. */
+    public int bestMatch(String query, double minScore) {
+        List<Match> top = search(query, 1);
+        return !top.isEmpty() && top.get(0).score() >= minScore ? top.get(0).row() : -1;
+    }
+
+    /** Exact/alias match from the catalog, else the best fuzzy match scoring at least {@code minScore}; -1 if none. */
+    public int resolve(String name, double minScore) {
+        int row = catalog.indexOf(name);
+        return row >= 0 ? row : bestMatch(name, minScore);
+    }
+
+    public FoodCatalog getCatalog() {
+        return catalog;
+    }
+
+    private int lowerBound(String token) {
+        int lo = 0;
+        int hi = words.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (words[mid].compareTo(token) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Lower-cased alphanumeric words; everything else separates. */
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    /** Trigrams of each word padded with two leading and one trailing space, as in pg_trgm. */
+    static Set<String> trigrams(String[] tokens) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String token : tokens) {
+            String padded = "  " + token + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,165 @@
+package com.nutreBirth.service.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory snapshot of Google's JWKS (kid → RSA public key) used by the
+ * offline ID token verifier.
+ *
+ * The snapshot is loaded from {@code google.jwks.location} (http(s):, file:
+ * or classpath:) at boot and on a fixed schedule, and swapped atomically so
+ * readers never see a half-built key map. Lookups never touch the network.
+ */
+@Component
+@ConditionalOnProperty(name = "google.verifier.mode", havingValue = "offline")
+public class GoogleJwksStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GoogleJwksStore.class);
+
+    // At most one out-of-schedule reload per minute for unknown kids
+    private static final long UNKNOWN_KID_RELOAD_INTERVAL_MILLIS = 60_000;
+
+    private final String location;
+    private final long reloadSeconds;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicReference<Map<String, PublicKey>> snapshot = new AtomicReference<>(Map.of());
+    private final AtomicLong lastUnknownKidReload = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    public GoogleJwksStore(
+            @Value("${google.jwks.location:https://www.googleapis.com/oauth2/v3/certs}") String location,
+            @Value("${google.jwks.reload-seconds:3600}") long reloadSeconds) {
+        this.location = location;
+        this.reloadSeconds = reloadSeconds;
+    }
+
+    @PostConstruct
+    void start() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // Keep booting; the scheduled reload below retries
+            log.error("Initial JWKS load from {} failed: {}", location, e.getMessage());
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "google-jwks-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::reloadQuietly, reloadSeconds, reloadSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the key for {@code kid} from the current snapshot, or null. An
+     * unknown kid (e.g. right after Google rotated) schedules a background
+     * reload, rate limited, but the caller is never blocked on it.
+     */
+    public PublicKey find(String kid) {
+        PublicKey key = snapshot.get().get(kid);
+        if (key == null && scheduler != null) {
+            long now = System.currentTimeMillis();
+            long last = lastUnknownKidReload.get();
+            if (now - last > UNKNOWN_KID_RELOAD_INTERVAL_MILLIS && lastUnknownKidReload.compareAndSet(last, now)) {
+                log.info("Unknown JWKS kid {}, scheduling reload", kid);
+                scheduler.execute(this::reloadQuietly);
+            }
+        }
+        return key;
+    }
+
+    public int size() {
+        return snapshot.get().size();
+    }
+
+    /**
+     * Loads the JWKS document and atomically replaces the snapshot.
+     */
+    public void reload() throws IOException, InterruptedException {
+        replace(read());
+    }
+
+    /**
+     * Parses a JWKS JSON document and atomically replaces the snapshot.
+     */
+    public void replace(String jwksJson) {
+        JwkSet set = Jwks.setParser().build().parse(jwksJson);
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Jwk<?> jwk : set) {
+            if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                keys.put(jwk.getId(), publicKey);
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("JWKS contains no usable public keys");
+        }
+        snapshot.set(Map.copyOf(keys));
+        log.info("JWKS snapshot loaded from {} with {} key(s)", location, keys.size());
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("JWKS reload from {} failed, keeping previous snapshot: {}", location, e.getMessage());
+        }
+    }
+
+    private String read() throws IOException, InterruptedException {
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(location))
+                            .timeout(Duration.ofSeconds(10))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            if (response.statusCode() != 200) {
+                throw new IOException("JWKS fetch returned HTTP " + response.statusCode());
+            }
+            return response.body();
+        }
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.nutreBirth.service.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Refreshes Google's public certs in the background ahead of their
+ * Cache-Control max-age, so login requests never pay for the cert fetch.
+ *
+ * GooglePublicKeysManager refreshes on the calling thread once it is within
+ * five minutes of expiry; we refresh {@code lead} earlier than that.
+ */
+@Component
+@ConditionalOnProperty(name = "google.verifier.mode", havingValue = "remote", matchIfMissing = true)
+public class GooglePublicKeysRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(GooglePublicKeysRefresher.class);
+
+    private static final long MIN_DELAY_MILLIS = 30_000;
+    private static final long RETRY_DELAY_MILLIS = 60_000;
+
+    private final GooglePublicKeysManager publicKeysManager;
+    private final boolean enabled;
+    private final long leadMillis;
+
+    private ScheduledExecutorService scheduler;
+
+    public GooglePublicKeysRefresher(GooglePublicKeysManager publicKeysManager,
+            @Value("${google.certs-refresh.enabled:true}") boolean enabled,
+            @Value("${google.certs-refresh.lead-seconds:600}") long leadSeconds) {
+        this.publicKeysManager = publicKeysManager;
+        this.enabled = enabled;
+        this.leadMillis = TimeUnit.SECONDS.toMillis(leadSeconds);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Google public key background refresh disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "google-certs-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        // Warm the cache off the startup thread; a network hiccup must not block boot
+        scheduler.execute(this::refreshAndReschedule);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetches the certs now. Returns the epoch-millis at which they expire.
+     */
+    public long refreshNow() throws Exception {
+        publicKeysManager.refresh();
+        return publicKeysManager.getExpirationTimeMilliseconds();
+    }
+
+    private void refreshAndReschedule() {
+        long delay;
+        try {
+            long expiresAt = refreshNow();
+            delay = Math.max(MIN_DELAY_MILLIS, expiresAt - System.currentTimeMillis() - leadMillis);
+            log.debug("Google public keys refreshed; next refresh in {} ms", delay);
+        } catch (Exception e) {
+            delay = RETRY_DELAY_MILLIS;
+            log.warn("Failed to refresh Google public keys, retrying in {} ms: {}", delay, e.getMessage());
+        }
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(this::refreshAndReschedule, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -1,28 +1,43 @@
 package com.nutreBirth.service.Service;
 
-import java.util.List;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
 public class GoogleTokenVerifierService {
 
     private static final Logger log = LoggerFactory.getLogger(GoogleTokenVerifierService.class);
 
-    @Value("${google.client-id}")
-    private String clientId;
+    private final GoogleIdTokenVerifier verifier;
+    // Present only when google.verifier.mode=offline
+    private final OfflineGoogleIdTokenVerifier offlineVerifier;
+    private final String clientId;
+    private final MeterRegistry meterRegistry;
+
+    public GoogleTokenVerifierService(GoogleIdTokenVerifier verifier,
+            @Nullable OfflineGoogleIdTokenVerifier offlineVerifier,
+            @Value("${google.client-id}") String clientId,
+            MeterRegistry meterRegistry) {
+        this.verifier = verifier;
+        this.offlineVerifier = offlineVerifier;
+        this.clientId = clientId;
+        this.meterRegistry = meterRegistry;
+    }
 
     public GoogleIdToken.Payload verify(String idTokenString) {
         log.debug("Starting Google token verification");
-        
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
         try {
             if (clientId == null || clientId.isBlank()) {
                 log.error("Google Client ID is missing or blank. Check GOOGLE_CLIENT_ID environment variable");
@@ -34,25 +49,32 @@ public class GoogleTokenVerifierService {
                 throw new IllegalArgumentException("Missing idToken");
             }
 
-            log.debug("Creating GoogleIdTokenVerifier with clientId: {}", clientId);
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(),
-                    new GsonFactory())
-                    .setAudience(List.of(clientId))
-                    .build();
+            if (offlineVerifier != null) {
+                log.debug("Verifying Google ID token against local JWKS snapshot");
+                GoogleIdToken.Payload payload = offlineVerifier.verify(idTokenString);
+                log.debug("Google token verified offline for email: {}", payload.getEmail());
+                result = "ok";
+                return payload;
+            }
 
             log.debug("Attempting to verify Google ID token");
             GoogleIdToken idToken = verifier.verify(idTokenString);
 
             if (idToken == null) {
                 log.error("Google token verification returned null - token is invalid or expired");
+                result = "invalid";
                 throw new RuntimeException("Invalid Google token");
             }
 
             GoogleIdToken.Payload payload = idToken.getPayload();
-            log.info("Google token verified successfully for email: {}", payload.getEmail());
+            log.debug("Google token verified successfully for email: {}", payload.getEmail());
+            result = "ok";
             return payload;
 
+        } catch (io.jsonwebtoken.JwtException e) {
+            log.error("Google token rejected by offline verifier: {}", e.getMessage());
+            result = "invalid";
+            throw new RuntimeException("Invalid Google token", e);
         } catch (IllegalStateException | IllegalArgumentException e) {
             log.error("Configuration or input error during Google token verification: {}", e.getMessage());
             throw new RuntimeException("Google token verification failed: " + e.getMessage(), e);
@@ -65,6 +87,12 @@ public class GoogleTokenVerifierService {
         } catch (Exception e) {
             log.error("Unexpected error during Google token verification: {}", e.getMessage(), e);
             throw new RuntimeException("Google token verification failed", e);
+        } finally {
+            sample.stop(Timer.builder("auth.google.verify")
+                    .description("Google ID token verification")
+                    .tag("mode", offlineVerifier != null ? "offline" : "remote")
+                    .tag("result", result)
+                    .register(meterRegistry));
         }
     }
 }
@@ -0,0 +1,243 @@
+package com.nutreBirth.service.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Enum.Nutrient;
+import com.nutreBirth.service.dto.HistoryRow;
+import com.nutreBirth.service.repo.MealItemRepository;
+
+/**
+ * Writes a user's meal log, one line per logged item with its
+ * micronutrients resolved against the food catalog, as NDJSON or CSV.
+ *
+ * Rows are read in keyset pages ({@link MealItemRepository#findHistoryPage}),
+ * each in its own short read-only transaction, and written as they are read.
+ * Memory does not depend on how much history there is, and no pooled
+ * connection is held while the client reads the response, however slowly.
+ * Pages are separate snapshots, so a meal edited mid-export shows up as of
+ * the page that read it. Catalog matches are cached per export by food name.
+ */
+@Service
+public class HistoryExporter {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final MealItemRepository itemRepository;
+    private final FoodSearchIndex foodIndex;
+    private final ObjectMapper objectMapper;
+    private final double minMatchScore;
+    private final int pageSize;
+
+    public HistoryExporter(MealItemRepository itemRepository, FoodSearchIndex foodIndex, ObjectMapper objectMapper,
+            @Value("${app.foods.search.min-match-score:0.45}") double minMatchScore,
+            @Value("${app.export.history.page-size:1000}") int pageSize) {
+        this.itemRepository = itemRepository;
+        this.foodIndex = foodIndex;
+        this.objectMapper = objectMapper;
+        this.minMatchScore = minMatchScore;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    /** Writes items logged between {@code from} and {@code to} (inclusive); returns the row count. */
+    public long export(UUID userId, LocalDate from, LocalDate to, Format format, OutputStream out)
+            throws IOException {
+        Iterator<HistoryRow> rows = new Pages(userId, from, to);
+        return format == Format.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+    }
+
+    private long writeNdjson(Iterator<HistoryRow> rows, OutputStream out) throws IOException {
+        Map<String, Integer> matches = new HashMap<>();
+        FoodCatalog catalog = foodIndex.getCatalog();
+        long count = 0;
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rows.hasNext()) {
+            HistoryRow row = rows.next();
+            int food = match(row, matches);
+            json.writeStartObject();
+            json.writeStringField("date", row.date().toString());
+            json.writeStringField("meal", row.mealId());
+            json.writeStringField("foodId", row.foodId());
+            if (row.name() != null) {
+                json.writeStringField("name", row.name());
+            }
+            json.writeNumberField("grams", row.grams());
+            writeOptional(json, "calories", row.calories());
+            writeOptional(json, "protein", row.protein());
+            writeOptional(json, "carbs", row.carbs());
+            writeOptional(json, "fat", row.fat());
+            if (food >= 0) {
+                json.writeStringField("matchedFood", catalog.name(food));
+                json.writeObjectFieldStart("micros");
+                for (Nutrient nutrient : Nutrient.values()) {
+                    double value = catalog.value(food, nutrient);
+                    if (!Double.isNaN(value)) {
+                        json.writeNumberField(nutrient.getField(), round(value * row.grams() / 100));
+                    }
+                }
+                json.writeEndObject();
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            count++;
+        }
+        json.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<HistoryRow> rows, OutputStream out) throws IOException {
+        Map<String, Integer> matches = new HashMap<>();
+        FoodCatalog catalog = foodIndex.getCatalog();
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+        csv.write("date,meal,food_id,name,grams,calories,protein,carbs,fat,matched_food");
+        for (Nutrient nutrient : Nutrient.values()) {
+            csv.write(',');
+            csv.write(nutrient.getField());
+        }
+        csv.write('\n');
+
+        long count = 0;
+        while (rows.hasNext()) {
+            HistoryRow row = rows.next();
+            int food = match(row, matches);
+            csv.write(row.date().toString());
+            csv.write(',');
+            csv.write(escape(row.mealId()));
+            csv.write(',');
+            csv.write(escape(row.foodId()));
+            csv.write(',');
+            csv.write(escape(row.name()));
+            csv.write(',');
+            csv.write(number(row.grams()));
+            csv.write(',');
+            csv.write(number(row.calories()));
+            csv.write(',');
+            csv.write(number(row.protein()));
+            csv.write(',');
+            csv.write(number(row.carbs()));
+            csv.write(',');
+            csv.write(number(row.fat()));
+            csv.write(',');
+            csv.write(food >= 0 ? escape(catalog.name(food)) : "");
+            for (Nutrient nutrient : Nutrient.values()) {
+                csv.write(',');
+                double value = food >= 0 ? catalog.value(food, nutrient) : Double.NaN;
+                if (!Double.isNaN(value)) {
+                    csv.write(number(round(value * row.grams() / 100)));
+                }
+            }
+            csv.write('\n');
+            count++;
+        }
+        csv.flush();
+        return count;
+    }
+
+    private int match(HistoryRow row, Map<String, Integer> matches) {
+        String name = row.name() != null ? row.name() : row.foodId().replace('_', ' ');
+        return matches.computeIfAbsent(name, n -> foodIndex.resolve(n, minMatchScore));
+    }
+
+    private static void writeOptional(JsonGenerator json, String field, Double value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(field, value);
+        }
+    }
+
+    private static String number(Double value) {
+        if (value == null) {
+            return "";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString(value.longValue())
+                : Double.toString(value);
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /** Rows in export order, fetching the next page when the current one runs out. */
+    private final class Pages implements Iterator<HistoryRow> {
+        private final UUID userId;
+        private final LocalDate from;
+        private final LocalDate to;
+        private List<HistoryRow> page = List.of();
+        private int next;
+        private boolean more = true;
+        private LocalDate afterDate;
+        private long afterMeal;
+        private long afterItem;
+
+        Pages(UUID userId, LocalDate from, LocalDate to) {
+            this.userId = userId;
+            this.from = from;
+            this.to = to;
+            this.afterDate = from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next < page.size()) {
+                return true;
+            }
+            if (!more) {
+                return false;
+            }
+            page = itemRepository.findHistoryPage(userId, from, to, afterDate, afterMeal, afterItem,
+                    PageRequest.of(0, pageSize));
+            next = 0;
+            more = page.size() == pageSize;
+            if (page.isEmpty()) {
+                return false;
+            }
+            HistoryRow last = page.get(page.size() - 1);
+            afterDate = last.date();
+            afterMeal = last.mealKey();
+            afterItem = last.itemId();
+            return true;
+        }
+
+        @Override
+        public HistoryRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return page.get(next++);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.nutreBirth.service.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
 
@@ -11,10 +12,16 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.security.JwtPrincipal;
+import com.nutreBirth.service.security.VerifiedTokenCache;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
@@ -24,32 +31,56 @@ public class JwtService {
     @Value("${jwt.secret}")
     private String secret;
 
-    private SecretKey getKey() {
+    @Value("${app.auth.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${app.auth.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    // Built once in init(); both are immutable and thread-safe
+    private SecretKey key;
+    private JwtParser parser;
+    private VerifiedTokenCache tokenCache;
+
+    /**
+     * Validates jwt.secret at boot so a missing or weak secret fails startup
+     * instead of the first login.
+     */
+    @PostConstruct
+    void init() {
         if (secret == null || secret.isBlank()) {
             log.error("JWT secret is missing or blank. Check JWT_SECRET environment variable");
             throw new IllegalStateException("Missing JWT_SECRET (jwt.secret)");
         }
-        return Keys.hmacShaKeyFor(secret.getBytes());
+        try {
+            key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (WeakKeyException e) {
+            log.error("JWT secret is too short for HMAC-SHA: {}", e.getMessage());
+            throw new IllegalStateException("JWT_SECRET (jwt.secret) must be at least 256 bits", e);
+        }
+        parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        if (tokenCacheEnabled) {
+            tokenCache = new VerifiedTokenCache(tokenCacheMaxSize);
+        }
+        log.info("JWT signing key initialised ({}), verified-token cache: {}",
+                key.getAlgorithm(), tokenCacheEnabled ? tokenCacheMaxSize + " entries" : "disabled");
     }
 
     public Claims parse(String token) {
         try {
-            log.debug("Parsing JWT token");
-            Claims claims = Jwts.parser()
-                    .verifyWith(getKey())
-                    .build()
+            return parser
                     .parseSignedClaims(token)
                     .getPayload();
-            log.debug("JWT token parsed successfully");
-            return claims;
         } catch (io.jsonwebtoken.ExpiredJwtException e) {
-            log.warn("JWT token is expired: {}", e.getMessage());
+            log.debug("JWT token is expired: {}", e.getMessage());
             throw e;
         } catch (io.jsonwebtoken.MalformedJwtException e) {
-            log.error("Malformed JWT token: {}", e.getMessage());
+            log.debug("Malformed JWT token: {}", e.getMessage());
             throw e;
         } catch (io.jsonwebtoken.security.SignatureException e) {
-            log.error("Invalid JWT signature: {}", e.getMessage());
+            log.debug("Invalid JWT signature: {}", e.getMessage());
             throw e;
         } catch (Exception e) {
             log.error("Error parsing JWT token: {}", e.getMessage(), e);
@@ -57,33 +88,68 @@ public class JwtService {
         }
     }
 
-    public String getUserId(String token) {
-        try {
-            String userId = parse(token).getSubject();
-            log.debug("Extracted userId from token: {}", userId);
-            return userId;
-        } catch (Exception e) {
-            log.error("Failed to extract userId from token: {}", e.getMessage());
-            throw e;
+    /**
+     * Verifies the token once and returns its typed claims. Tokens seen
+     * before (and not yet expired) are served from the verified-token cache
+     * without re-checking the signature.
+     */
+    public JwtPrincipal verify(String token) {
+        if (tokenCache == null) {
+            return verifyUncached(token);
         }
+        JwtPrincipal cached = tokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        JwtPrincipal principal = verifyUncached(token);
+        tokenCache.put(token, principal);
+        return principal;
     }
 
-    public String getPlan(String token) {
+    /**
+     * Hit/miss/eviction counters of the verified-token cache, or null when
+     * it is disabled.
+     */
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    private JwtPrincipal verifyUncached(String token) {
+        Claims claims = parse(token);
+
+        String userId = claims.getSubject();
+        String plan = claims.get("plan", String.class);
+        if (userId == null || userId.isBlank() || plan == null) {
+            throw new io.jsonwebtoken.MalformedJwtException("JWT is missing sub or plan claim");
+        }
+
+        PlanType planType;
         try {
-            String plan = parse(token).get("plan", String.class);
-            log.debug("Extracted plan from token: {}", plan);
-            return plan;
-        } catch (Exception e) {
-            log.error("Failed to extract plan from token: {}", e.getMessage());
-            throw e;
+            planType = PlanType.valueOf(plan);
+        } catch (IllegalArgumentException e) {
+            throw new io.jsonwebtoken.MalformedJwtException("JWT has unknown plan claim: " + plan);
         }
+
+        Date expiration = claims.getExpiration();
+        return new JwtPrincipal(
+                userId,
+                claims.get("email", String.class),
+                planType,
+                expiration == null ? null : expiration.toInstant());
+    }
+
+    public String getUserId(String token) {
+        return verify(token).getUserId();
+    }
+
+    public String getPlan(String token) {
+        return verify(token).getPlan().name();
     }
 
     private static final long EXPIRY_SECONDS = 60 * 60 * 24 * 7; // 7 days
 
     public String generate(User user) {
         try {
-            log.debug("Generating JWT for user: {} ({})", user.getEmail(), user.getId());
 
             Instant now = Instant.now();
 
@@ -93,10 +159,10 @@ public class JwtService {
                     .claim("plan", user.getPlan().name())
                     .issuedAt(Date.from(now))
                     .expiration(Date.from(now.plusSeconds(EXPIRY_SECONDS)))
-                    .signWith(getKey())
+                    .signWith(key)
                     .compact();
 
-            log.info("JWT generated successfully for user: {}", user.getEmail());
+            log.debug("JWT generated for user: {}", user.getId());
             return jwt;
         } catch (Exception e) {
             log.error("Failed to generate JWT for user {}: {}", user.getEmail(), e.getMessage(), e);
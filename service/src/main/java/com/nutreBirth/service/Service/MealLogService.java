@@ -0,0 +1,166 @@
+package com.nutreBirth.service.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nutreBirth.service.Entity.Meal;
+import com.nutreBirth.service.Entity.MealItem;
+import com.nutreBirth.service.dto.MealLogRequest;
+import com.nutreBirth.service.repo.MealRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Server-side copy of the meal log. A batch is validated up front, meals
+ * the user already uploaded (same client id) are skipped, and the rest are
+ * persisted in one transaction. Inserts go out as JDBC batches
+ * (hibernate.jdbc.batch_size, order_inserts); the persistence context is
+ * flushed and cleared every batch so it does not grow with the request.
+ * Stored meals take the next per-user change versions, so /sync sends them
+ * to the user's other devices, and are added to the daily rollups.
+ */
+@Service
+public class MealLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(MealLogService.class);
+
+    static final int MAX_CLIENT_ID_LENGTH = 64;
+    static final int MAX_FOOD_ID_LENGTH = 128;
+
+    private final MealRepository mealRepository;
+    private final ChangeSequence changeSequence;
+    private final DailyRollupService rollupService;
+    private final EntityManager entityManager;
+    private final int flushEvery;
+
+    public MealLogService(MealRepository mealRepository, ChangeSequence changeSequence,
+            DailyRollupService rollupService, EntityManager entityManager,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
+        this.mealRepository = mealRepository;
+        this.changeSequence = changeSequence;
+        this.rollupService = rollupService;
+        this.entityManager = entityManager;
+        this.flushEvery = Math.max(1, jdbcBatchSize);
+    }
+
+    /**
+     * Stores the meals for {@code userId}.
+     *
+     * @throws IllegalArgumentException naming the first invalid meal; nothing is stored then
+     */
+    @Transactional
+    public BatchResult ingest(UUID userId, List<MealLogRequest> meals) {
+        for (int i = 0; i < meals.size(); i++) {
+            String error = validate(meals.get(i));
+            if (error != null) {
+                throw new IllegalArgumentException("meals[" + i + "]: " + error);
+            }
+        }
+
+        Set<String> clientIds = new HashSet<>();
+        meals.forEach(meal -> clientIds.add(meal.getId()));
+        Set<String> seen = clientIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(mealRepository.findExistingClientIds(userId, clientIds));
+
+        List<String> duplicates = new ArrayList<>();
+        List<MealLogRequest> fresh = new ArrayList<>();
+        for (MealLogRequest request : meals) {
+            if (seen.add(request.getId())) {
+                fresh.add(request);
+            } else {
+                duplicates.add(request.getId());
+            }
+        }
+
+        long version = fresh.isEmpty() ? 0 : changeSequence.reserve(userId, fresh.size());
+        long now = System.currentTimeMillis();
+        DailyRollupService.Deltas deltas = rollupService.deltas();
+        int inserted = 0;
+        int items = 0;
+        int pending = 0;
+        for (MealLogRequest request : fresh) {
+            Meal meal = toEntity(userId, request);
+            meal.setVersion(version++);
+            meal.setUpdatedAt(now);
+            // Before persist, so the items' micros go out with the insert
+            deltas.add(meal);
+            entityManager.persist(meal);
+            inserted++;
+            items += meal.getItems().size();
+            pending += 1 + meal.getItems().size();
+            if (pending >= flushEvery) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        rollupService.apply(userId, deltas);
+
+        log.debug("Stored {} meal(s) with {} item(s) for user {}, {} duplicate(s)",
+                inserted, items, userId, duplicates.size());
+        return new BatchResult(inserted, items, duplicates);
+    }
+
+    static String validate(MealLogRequest meal) {
+        if (meal == null) {
+            return "meal is null";
+        }
+        if (meal.getId() == null || meal.getId().isBlank() || meal.getId().length() > MAX_CLIENT_ID_LENGTH) {
+            return "id is required (max " + MAX_CLIENT_ID_LENGTH + " characters)";
+        }
+        if (meal.getDate() == null) {
+            return "date is required";
+        }
+        if (meal.getItems() == null) {
+            return "items is required";
+        }
+        for (MealLogRequest.Item item : meal.getItems()) {
+            if (item == null || item.getFoodId() == null || item.getFoodId().isBlank()
+                    || item.getFoodId().length() > MAX_FOOD_ID_LENGTH) {
+                return "every item needs a foodId";
+            }
+            if (!(item.getGrams() > 0) || Double.isInfinite(item.getGrams())) {
+                return "grams must be positive";
+            }
+        }
+        return null;
+    }
+
+    private static Meal toEntity(UUID userId, MealLogRequest request) {
+        Meal meal = new Meal();
+        meal.setUserId(userId);
+        meal.setClientId(request.getId());
+        setContent(meal, request);
+        return meal;
+    }
+
+    /** Replaces the meal's date and items with those of {@code request}. */
+    static void setContent(Meal meal, MealLogRequest request) {
+        meal.setLogDate(request.getDate());
+        meal.getItems().clear();
+        for (MealLogRequest.Item source : request.getItems()) {
+            MealItem item = new MealItem();
+            item.setFoodId(source.getFoodId());
+            item.setName(source.getName());
+            item.setGrams(source.getGrams());
+            item.setCalories(source.getCalories());
+            item.setProtein(source.getProtein());
+            item.setCarbs(source.getCarbs());
+            item.setFat(source.getFat());
+            meal.addItem(item);
+        }
+    }
+
+    public record BatchResult(int inserted, int items, List<String> duplicates) {
+    }
+}
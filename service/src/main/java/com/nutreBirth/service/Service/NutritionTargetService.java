@@ -0,0 +1,78 @@
+package com.nutreBirth.service.Service;
+
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.nutreBirth.service.Enum.ActivityLevel;
+import com.nutreBirth.service.Enum.Goal;
+import com.nutreBirth.service.Enum.Sex;
+import com.nutreBirth.service.dto.TargetRequest;
+import com.nutreBirth.service.dto.TargetResponse;
+
+/**
+ * Server-side port of src/utils/calcTargets.ts (Mifflin-St Jeor BMR, TDEE
+ * by activity multiplier, protein by goal). Plain double arithmetic, and
+ * Math.round matches JavaScript's for the positive values involved, so
+ * results are identical to what the web app computes locally.
+ */
+@Service
+public class NutritionTargetService {
+
+    static final int DEFAULT_AGE = 30;
+    static final Sex DEFAULT_SEX = Sex.MALE;
+    static final ActivityLevel DEFAULT_ACTIVITY = ActivityLevel.MODERATE;
+    static final Goal DEFAULT_GOAL = Goal.BUILD;
+
+    public static double bmr(double weightKg, double heightCm, int age, Sex sex) {
+        double base = 10 * weightKg + 6.25 * heightCm - 5 * age;
+        return sex == Sex.FEMALE ? base - 161 : base + 5;
+    }
+
+    public static long tdee(double bmr, ActivityLevel activity) {
+        return Math.round(bmr * activity.getFactor());
+    }
+
+    public static long proteinTarget(double weightKg, Goal goal) {
+        return Math.round(weightKg * goal.getProteinPerKg());
+    }
+
+    public TargetResponse compute(TargetRequest request) {
+        String error = validate(request);
+        if (error != null) {
+            return TargetResponse.error(error);
+        }
+        int age = request.getAge() != null ? request.getAge() : DEFAULT_AGE;
+        Sex sex = request.getSex() != null ? request.getSex() : DEFAULT_SEX;
+        ActivityLevel activity = request.getActivityLevel() != null ? request.getActivityLevel() : DEFAULT_ACTIVITY;
+        Goal goal = request.getGoal() != null ? request.getGoal() : DEFAULT_GOAL;
+
+        double bmr = bmr(request.getWeightKg(), request.getHeightCm(), age, sex);
+        return TargetResponse.of(bmr, tdee(bmr, activity), proteinTarget(request.getWeightKg(), goal));
+    }
+
+    /** One result per profile, in request order; invalid profiles get an error entry. */
+    public List<TargetResponse> computeAll(List<TargetRequest> requests) {
+        TargetResponse[] results = new TargetResponse[requests.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = compute(requests.get(i));
+        }
+        return List.of(results);
+    }
+
+    private static String validate(TargetRequest request) {
+        if (request == null) {
+            return "Profile is required";
+        }
+        if (!(request.getWeightKg() > 0 && request.getWeightKg() < 1000)) {
+            return "weightKg must be between 0 and 1000";
+        }
+        if (!(request.getHeightCm() > 0 && request.getHeightCm() < 300)) {
+            return "heightCm must be between 0 and 300";
+        }
+        if (request.getAge() != null && (request.getAge() < 1 || request.getAge() > 130)) {
+            return "age must be between 1 and 130";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+package com.nutreBirth.service.Service;
+
+import java.security.Key;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Verifies Google RS256 ID tokens entirely in-process against the
+ * {@link GoogleJwksStore} snapshot: signature, audience, issuer and expiry
+ * are checked locally with no network I/O on the request path.
+ */
+@Component
+@ConditionalOnProperty(name = "google.verifier.mode", havingValue = "offline")
+public class OfflineGoogleIdTokenVerifier {
+
+    private static final Set<String> ISSUERS = Set.of("accounts.google.com", "https://accounts.google.com");
+
+    // Same leeway GoogleIdTokenVerifier applies by default
+    private static final long CLOCK_SKEW_SECONDS = 300;
+
+    private final JwtParser parser;
+
+    public OfflineGoogleIdTokenVerifier(GoogleJwksStore jwksStore,
+            @Value("${google.client-id}") String clientId) {
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        if (!"RS256".equals(header.getAlgorithm())) {
+                            throw new SignatureException("Unsupported ID token algorithm: " + header.getAlgorithm());
+                        }
+                        Key key = jwksStore.find(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown ID token key id: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireAudience(clientId)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the verified payload. Throws an {@link io.jsonwebtoken.JwtException}
+     * when the token is malformed, expired, or fails any check.
+     */
+    public GoogleIdToken.Payload verify(String idToken) {
+        Claims claims = parser.parseSignedClaims(idToken).getPayload();
+
+        if (!ISSUERS.contains(claims.getIssuer())) {
+            throw new io.jsonwebtoken.IncorrectClaimException(null, claims, "iss", null,
+                    "Unexpected ID token issuer: " + claims.getIssuer());
+        }
+        if (claims.getExpiration() == null) {
+            throw new io.jsonwebtoken.MissingClaimException(null, claims, "exp", null,
+                    "ID token has no expiry");
+        }
+
+        // Same shape AuthController reads from the remote verifier
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setIssuer(claims.getIssuer());
+        payload.setSubject(claims.getSubject());
+        payload.setAudience(clientAudience(claims));
+        payload.setExpirationTimeSeconds(claims.getExpiration().getTime() / 1000);
+        if (claims.getIssuedAt() != null) {
+            payload.setIssuedAtTimeSeconds(claims.getIssuedAt().getTime() / 1000);
+        }
+        payload.setEmail(claims.get("email", String.class));
+        Object emailVerified = claims.get("email_verified");
+        if (emailVerified != null) {
+            payload.setEmailVerified(Boolean.valueOf(emailVerified.toString()));
+        }
+        payload.set("name", claims.get("name", String.class));
+        payload.set("picture", claims.get("picture", String.class));
+        return payload;
+    }
+
+    private static Object clientAudience(Claims claims) {
+        Set<String> audience = claims.getAudience();
+        return audience != null && audience.size() == 1 ? audience.iterator().next() : audience;
+    }
+}
@@ -0,0 +1,103 @@
+package com.nutreBirth.service.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.nutreBirth.service.Entity.Payment;
+import com.nutreBirth.service.Entity.PaymentOrder;
+import com.nutreBirth.service.Enum.PaymentSource;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.repo.PaymentOrderRepository;
+import com.nutreBirth.service.repo.PaymentRepository;
+import com.nutreBirth.service.repo.UserRepository;
+
+/**
+ * Persistence side of the payment flow: orders we created and payments we
+ * accepted, with the Razorpay ids as idempotency keys.
+ */
+@Service
+public class PaymentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
+
+    private final PaymentOrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final UserRepository userRepository;
+
+    public PaymentService(PaymentOrderRepository orderRepository,
+            PaymentRepository paymentRepository,
+            UserRepository userRepository) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.userRepository = userRepository;
+    }
+
+    public PaymentOrder recordOrder(String razorpayOrderId, String receipt, UUID userId, long amountPaise,
+            String currency) {
+        PaymentOrder order = new PaymentOrder();
+        order.setRazorpayOrderId(razorpayOrderId);
+        order.setReceipt(receipt);
+        order.setUserId(userId);
+        order.setAmountPaise(amountPaise);
+        order.setCurrency(currency);
+        return orderRepository.save(order);
+    }
+
+    /**
+     * Records a signature-checked payment and upgrades its user, all in one
+     * transaction. Returns false when the payment was already recorded for
+     * this user (a retry). A concurrent duplicate insert surfaces as
+     * DataIntegrityViolationException; callers treat it like a retry via
+     * {@link #requireOwnedBy}.
+     */
+    @Transactional
+    public boolean recordVerifiedPayment(UUID userId, String razorpayOrderId, String razorpayPaymentId) {
+        var existing = paymentRepository.findByRazorpayPaymentId(razorpayPaymentId);
+        if (existing.isPresent()) {
+            requireOwner(existing.get(), userId);
+            return false;
+        }
+
+        orderRepository.findByRazorpayOrderId(razorpayOrderId).ifPresent(order -> {
+            if (!order.getUserId().equals(userId)) {
+                log.warn("User {} tried to verify order {} owned by {}", userId, razorpayOrderId, order.getUserId());
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Order belongs to another user");
+            }
+        });
+
+        Payment payment = new Payment();
+        payment.setRazorpayPaymentId(razorpayPaymentId);
+        payment.setRazorpayOrderId(razorpayOrderId);
+        payment.setUserId(userId);
+        payment.setSource(PaymentSource.CLIENT_VERIFY);
+        paymentRepository.saveAndFlush(payment);
+
+        userRepository.updatePlan(List.of(userId), PlanType.PREMIUM);
+        orderRepository.markPaid(razorpayOrderId, Instant.now());
+        return true;
+    }
+
+    /**
+     * Throws unless the recorded payment belongs to {@code userId}.
+     */
+    public void requireOwnedBy(String razorpayPaymentId, UUID userId) {
+        Payment payment = paymentRepository.findByRazorpayPaymentId(razorpayPaymentId)
+                .orElseThrow(() -> new IllegalStateException("Payment vanished after conflict: " + razorpayPaymentId));
+        requireOwner(payment, userId);
+    }
+
+    private static void requireOwner(Payment payment, UUID userId) {
+        if (!payment.getUserId().equals(userId)) {
+            log.warn("Payment {} already recorded for another user", payment.getRazorpayPaymentId());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Payment already used");
+        }
+    }
+}
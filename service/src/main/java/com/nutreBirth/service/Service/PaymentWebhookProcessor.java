@@ -0,0 +1,162 @@
+package com.nutreBirth.service.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nutreBirth.service.Entity.Payment;
+import com.nutreBirth.service.Entity.PaymentOrder;
+import com.nutreBirth.service.Entity.PaymentWebhookEvent;
+import com.nutreBirth.service.Enum.PaymentSource;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Enum.WebhookEventStatus;
+import com.nutreBirth.service.repo.PaymentOrderRepository;
+import com.nutreBirth.service.repo.PaymentRepository;
+import com.nutreBirth.service.repo.PaymentWebhookEventRepository;
+import com.nutreBirth.service.repo.UserRepository;
+import com.nutreBirth.service.security.CustomUserDetailsService;
+
+/**
+ * Drains the payment_webhook_events queue in batches and applies PREMIUM
+ * upgrades. Each batch is one transaction with a single UPDATE for all its
+ * users, and a payment id is applied at most once however many events
+ * (payment.captured, order.paid, redeliveries) mention it. An event whose
+ * notes name no user is tied to the owner of its payment_orders row; if
+ * that fails too it is left UNRESOLVED with a warning rather than dropped.
+ */
+@Service
+public class PaymentWebhookProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookProcessor.class);
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentOrderRepository orderRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${razorpay.webhook.batch-size:200}")
+    private int batchSize;
+
+    @Value("${razorpay.webhook.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    public PaymentWebhookProcessor(PaymentWebhookEventRepository eventRepository,
+            UserRepository userRepository,
+            PaymentRepository paymentRepository,
+            PaymentOrderRepository orderRepository,
+            CustomUserDetailsService userDetailsService,
+            TransactionTemplate transactionTemplate) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.paymentRepository = paymentRepository;
+        this.orderRepository = orderRepository;
+        this.userDetailsService = userDetailsService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(fixedDelayString = "${razorpay.webhook.drain-interval-ms:2000}")
+    public void drain() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            BatchResult result = transactionTemplate.execute(status -> processBatch());
+            if (result == null) {
+                return;
+            }
+            // Only after commit, so a concurrent request cannot re-cache the old plan
+            result.upgraded().forEach(userId -> userDetailsService.evict(userId.toString()));
+            if (result.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private BatchResult processBatch() {
+        List<PaymentWebhookEvent> batch = eventRepository.findByStatusOrderByIdAsc(
+                WebhookEventStatus.PENDING, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return new BatchResult(0, Set.of());
+        }
+
+        Set<String> paymentIds = batch.stream()
+                .map(PaymentWebhookEvent::getPaymentId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Set<String> seenPayments = new HashSet<>();
+        if (!paymentIds.isEmpty()) {
+            seenPayments.addAll(eventRepository.findAppliedPaymentIds(paymentIds));
+            // Also covers payments the browser already verified via /payment/verify
+            seenPayments.addAll(paymentRepository.findExistingPaymentIds(paymentIds));
+        }
+
+        // Neither note carried the user: fall back to who created the order
+        Set<String> ownerlessOrders = batch.stream()
+                .filter(e -> e.getUserId() == null)
+                .map(PaymentWebhookEvent::getOrderId)
+                .filter(id -> id != null)
+                .collect(Collectors.toSet());
+        Map<String, UUID> orderOwners = ownerlessOrders.isEmpty() ? Map.of()
+                : orderRepository.findByRazorpayOrderIdIn(ownerlessOrders).stream()
+                        .collect(Collectors.toMap(PaymentOrder::getRazorpayOrderId, PaymentOrder::getUserId));
+
+        Set<UUID> upgrades = new HashSet<>();
+        List<Payment> payments = new ArrayList<>();
+        Instant now = Instant.now();
+        for (PaymentWebhookEvent event : batch) {
+            event.setProcessedAt(now);
+            if (event.getUserId() == null && event.getOrderId() != null) {
+                event.setUserId(orderOwners.get(event.getOrderId()));
+            }
+            if (event.getPaymentId() == null || seenPayments.contains(event.getPaymentId())) {
+                event.setStatus(WebhookEventStatus.SKIPPED);
+                continue;
+            }
+            if (event.getUserId() == null) {
+                event.setStatus(WebhookEventStatus.UNRESOLVED);
+                log.warn("Webhook {} captured payment {} (order {}) but names no known user; not applied",
+                        event.getEventId(), event.getPaymentId(), event.getOrderId());
+                continue;
+            }
+            seenPayments.add(event.getPaymentId());
+            upgrades.add(event.getUserId());
+            payments.add(webhookPayment(event));
+            event.setStatus(WebhookEventStatus.APPLIED);
+        }
+
+        paymentRepository.saveAll(payments);
+        int updated = upgrades.isEmpty() ? 0 : userRepository.updatePlan(upgrades, PlanType.PREMIUM);
+        payments.stream()
+                .map(Payment::getRazorpayOrderId)
+                .filter(id -> id != null)
+                .forEach(orderId -> orderRepository.markPaid(orderId, now));
+
+        log.info("Processed {} webhook event(s): {} user(s) targeted, {} upgraded",
+                batch.size(), upgrades.size(), updated);
+        return new BatchResult(batch.size(), upgrades);
+    }
+
+    private static Payment webhookPayment(PaymentWebhookEvent event) {
+        Payment payment = new Payment();
+        payment.setRazorpayPaymentId(event.getPaymentId());
+        payment.setRazorpayOrderId(event.getOrderId());
+        payment.setUserId(event.getUserId());
+        payment.setSource(PaymentSource.WEBHOOK);
+        return payment;
+    }
+
+    private record BatchResult(int size, Set<UUID> upgraded) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.nutreBirth.service.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Enum.Nutrient;
+import com.nutreBirth.service.utils.PdfStreamWriter;
+
+/**
+ * Renders a diet plan as PDF straight onto an output stream: one table per
+ * meal (items with macros, a total row, the meal's micronutrient totals),
+ * then the plan totals.
+ *
+ * Rendering is incremental. Pages are written as they fill up and only
+ * running totals are kept, so memory does not depend on plan size. A custom
+ * plan posted by the client is read with the streaming JSON parser one item
+ * at a time for the same reason.
+ */
+@Service
+public class PlanPdfExporter {
+
+    private static final float MARGIN = 40;
+    private static final float TOP = PdfStreamWriter.PAGE_HEIGHT - MARGIN;
+    private static final float BOTTOM = 56;
+    private static final float LINE = 13;
+    private static final float FONT = 9;
+    private static final float RIGHT = PdfStreamWriter.PAGE_WIDTH - MARGIN;
+
+    private static final float QTY_X = 250;
+    private static final float PROTEIN_RIGHT = 360;
+    private static final float CARBS_RIGHT = 420;
+    private static final float FATS_RIGHT = 480;
+    private static final float NAME_WIDTH = QTY_X - MARGIN - 8;
+
+    private final ObjectMapper objectMapper;
+    private final PlanStore planStore;
+
+    public PlanPdfExporter(ObjectMapper objectMapper, PlanStore planStore) {
+        this.objectMapper = objectMapper;
+        this.planStore = planStore;
+    }
+
+    /** Renders a stored plan; returns the number of pages written. */
+    public int export(PlanStore.Plan plan, OutputStream out) throws IOException {
+        Render render = new Render(out, title(plan.type(), plan.calories()));
+        for (PlanStore.Meal meal : plan.meals()) {
+            render.beginMeal(meal.mealNumber());
+            for (PlanStore.Item item : meal.items()) {
+                render.item(item);
+            }
+            render.endMeal();
+        }
+        return render.finish();
+    }
+
+    /**
+     * Renders a plan posted as JSON in the web app's DietPlan shape
+     * ({"type", "calories", "meals": [{"mealNumber", "items": [...]}]}),
+     * reading it token by token. Items are resolved like seed items.
+     *
+     * @throws IllegalArgumentException if the body is not a plan object
+     */
+    public int exportCustom(InputStream json, OutputStream out) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Plan must be a JSON object");
+            }
+            String type = null;
+            Integer calories = null;
+            Render render = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if ("calories".equals(field) && value.isNumeric()) {
+                    calories = parser.getIntValue();
+                } else if ("meals".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (render == null) {
+                        render = new Render(out, title(type, calories));
+                    }
+                    readMeals(parser, render);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (render == null) {
+                render = new Render(out, title(type, calories));
+            }
+            return render.finish();
+        }
+    }
+
+    private void readMeals(JsonParser parser, Render render) throws IOException {
+        int ordinal = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            ordinal++;
+            Integer mealNumber = null;
+            boolean begun = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("mealNumber".equals(field) && value.isNumeric()) {
+                    mealNumber = parser.getIntValue();
+                } else if ("items".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (!begun) {
+                        render.beginMeal(mealNumber != null ? mealNumber : ordinal);
+                        begun = true;
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        // One item at a time; never the whole array
+                        JsonNode item = parser.readValueAsTree();
+                        render.item(planStore.resolveItem(
+                                item.path("name").asText(""), item.path("quantity").asText(""),
+                                item.path("protein").asDouble(), item.path("carbs").asDouble(),
+                                item.path("fats").asDouble(), item.path("calories").asDouble()));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (!begun) {
+                render.beginMeal(mealNumber != null ? mealNumber : ordinal);
+            }
+            render.endMeal();
+        }
+    }
+
+    private static String title(String type, Integer calories) {
+        StringBuilder title = new StringBuilder("NutReBirth diet plan");
+        if (calories != null) {
+            title.append(" — ").append(calories).append(" kcal");
+        }
+        if (type != null && !type.isBlank()) {
+            title.append(" — ").append(type);
+        }
+        return title.toString();
+    }
+
+    /** Per-export layout state: cursor, page number and running totals. */
+    private static final class Render {
+        private final PdfStreamWriter pdf;
+        private final String title;
+        private float y;
+        private int mealNumber = -1;
+
+        private final double[] mealMacros = new double[4];
+        private final double[] planMacros = new double[4];
+        private final double[] mealMicros = new double[Nutrient.values().length];
+        private final double[] planMicros = new double[Nutrient.values().length];
+
+        Render(OutputStream out, String title) throws IOException {
+            this.pdf = new PdfStreamWriter(out);
+            this.title = title;
+            Arrays.fill(planMicros, Double.NaN);
+            newPage();
+            pdf.text(MARGIN, y, 16, true, title);
+            y -= LINE * 2;
+        }
+
+        void beginMeal(int number) throws IOException {
+            ensureSpace(4);
+            mealNumber = number;
+            Arrays.fill(mealMacros, 0);
+            Arrays.fill(mealMicros, Double.NaN);
+            y -= LINE / 2;
+            pdf.text(MARGIN, y, 12, true, "Meal " + number);
+            y -= LINE * 1.5f;
+            columnHeader();
+        }
+
+        void item(PlanStore.Item item) throws IOException {
+            ensureSpace(1);
+            pdf.text(MARGIN, y, FONT, false, fit(item.name(), NAME_WIDTH));
+            pdf.text(QTY_X, y, FONT, false, fit(item.quantity(), PROTEIN_RIGHT - QTY_X - 40));
+            macroCells(item.protein(), item.carbs(), item.fats(), item.calories(), false);
+            y -= LINE;
+            mealMacros[0] += item.protein();
+            mealMacros[1] += item.carbs();
+            mealMacros[2] += item.fats();
+            mealMacros[3] += item.calories();
+            add(mealMicros, item.micros());
+        }
+
+        void endMeal() throws IOException {
+            ensureSpace(2);
+            pdf.line(MARGIN, y + LINE - 3, RIGHT, y + LINE - 3);
+            pdf.text(MARGIN, y, FONT, true, "Total");
+            macroCells(mealMacros[0], mealMacros[1], mealMacros[2], mealMacros[3], true);
+            y -= LINE;
+            microLines("Micronutrients: ", mealMicros);
+            for (int i = 0; i < 4; i++) {
+                planMacros[i] += mealMacros[i];
+            }
+            add(planMicros, mealMicros);
+            mealNumber = -1;
+        }
+
+        int finish() throws IOException {
+            ensureSpace(3);
+            y -= LINE;
+            pdf.text(MARGIN, y, 12, true, "Plan total");
+            y -= LINE * 1.5f;
+            pdf.text(MARGIN, y, FONT, false, "Protein " + num(planMacros[0]) + " g   Carbs " + num(planMacros[1])
+                    + " g   Fats " + num(planMacros[2]) + " g   " + num(planMacros[3]) + " kcal");
+            y -= LINE;
+            microLines("", planMicros);
+            footer();
+            pdf.finish();
+            return pdf.getPageCount();
+        }
+
+        private void columnHeader() {
+            pdf.text(MARGIN, y, FONT, true, "Food item");
+            pdf.text(QTY_X, y, FONT, true, "Qty");
+            pdf.textRight(PROTEIN_RIGHT, y, FONT, true, "Protein (g)");
+            pdf.textRight(CARBS_RIGHT, y, FONT, true, "Carbs (g)");
+            pdf.textRight(FATS_RIGHT, y, FONT, true, "Fats (g)");
+            pdf.textRight(RIGHT, y, FONT, true, "Calories");
+            y -= LINE;
+        }
+
+        private void macroCells(double protein, double carbs, double fats, double calories, boolean bold) {
+            pdf.textRight(PROTEIN_RIGHT, y, FONT, bold, num(protein));
+            pdf.textRight(CARBS_RIGHT, y, FONT, bold, num(carbs));
+            pdf.textRight(FATS_RIGHT, y, FONT, bold, num(fats));
+            pdf.textRight(RIGHT, y, FONT, bold, num(calories));
+        }
+
+        // "Fiber 4.9 · Iron (mg) 1.92 · ..." wrapped to the page width
+        private void microLines(String prefix, double[] micros) throws IOException {
+            StringBuilder line = new StringBuilder(prefix);
+            boolean any = false;
+            for (Nutrient nutrient : Nutrient.values()) {
+                double v = micros[nutrient.ordinal()];
+                if (Double.isNaN(v)) {
+                    continue;
+                }
+                String part = nutrient.getSeedKey() + " " + num(v);
+                String sep = any ? " · " : "";
+                if (PdfStreamWriter.width(line + sep + part, FONT) > RIGHT - MARGIN) {
+                    ensureSpace(1);
+                    pdf.text(MARGIN, y, FONT, false, line.toString());
+                    y -= LINE;
+                    line.setLength(0);
+                    sep = "";
+                }
+                line.append(sep).append(part);
+                any = true;
+            }
+            if (!any) {
+                line.append("no micronutrient data");
+            }
+            ensureSpace(1);
+            pdf.text(MARGIN, y, FONT, false, line.toString());
+            y -= LINE;
+        }
+
+        private void ensureSpace(int lines) throws IOException {
+            if (y - (lines - 1) * LINE >= BOTTOM) {
+                return;
+            }
+            footer();
+            pdf.endPage();
+            newPage();
+            if (mealNumber >= 0) {
+                pdf.text(MARGIN, y, FONT, true, "Meal " + mealNumber + " (continued)");
+                y -= LINE * 1.5f;
+                columnHeader();
+            }
+        }
+
+        private void newPage() {
+            pdf.beginPage();
+            y = TOP;
+        }
+
+        private void footer() {
+            pdf.text(MARGIN, BOTTOM - 24, 7, false, title);
+            pdf.textRight(RIGHT, BOTTOM - 24, 7, false, "Page " + (pdf.getPageCount() + 1));
+        }
+
+        private static void add(double[] total, double[] part) {
+            for (int i = 0; i < total.length; i++) {
+                if (!Double.isNaN(part[i])) {
+                    total[i] = Double.isNaN(total[i]) ? part[i] : total[i] + part[i];
+                }
+            }
+        }
+
+        private static String fit(String text, float width) {
+            return PdfStreamWriter.truncate(text, FONT, width);
+        }
+
+        private static String num(double v) {
+            long hundredths = Math.round(v * 100);
+            if (hundredths % 100 == 0) {
+                return Long.toString(hundredths / 100);
+            }
+            return Double.toString(hundredths / 100.0);
+        }
+    }
+}
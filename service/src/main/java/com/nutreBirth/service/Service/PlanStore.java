@@ -0,0 +1,325 @@
+package com.nutreBirth.service.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Enum.Nutrient;
+import com.nutreBirth.service.Enum.PlanDetail;
+
+/**
+ * Diet plans from the web app's plan_seed.json, loaded once with all
+ * aggregation done up front.
+ *
+ * Every item is resolved against the food catalog (exact/alias, then fuzzy)
+ * and its per-100 g micronutrients are scaled by the item's weight when the
+ * quantity is in grams ("120 g", "200 g + 10 g"). Items counted in pieces
+ * or without a catalog match carry no micros. Meal and plan totals are
+ * summed here, and every response the controller can return, in both
+ * {@link PlanDetail} variants, is serialized once together with its ETag.
+ */
+@Service
+public class PlanStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanStore.class);
+
+    private static final Pattern GRAMS = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(?:g|ml)");
+
+    public record Totals(double protein, double carbs, double fats, double calories, double[] micros) {
+    }
+
+    /** One plan row; {@code grams} is null and {@code micros} all NaN when the weight is unknown. */
+    public record Item(String name, String quantity, Double grams, String matchedFood,
+            double protein, double carbs, double fats, double calories, double[] micros, String keyAntioxidant) {
+    }
+
+    public record Meal(int mealNumber, List<Item> items, Totals total) {
+    }
+
+    public record Plan(String type, int calories, List<Meal> meals, Totals total) {
+    }
+
+    /** Serialized response body and its strong ETag. */
+    public record Cached(byte[] body, String etag) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final FoodSearchIndex foodIndex;
+    private final double minMatchScore;
+
+    private final List<Plan> plans;
+    // Indexed by PlanDetail ordinal
+    private final Cached[][] planResponses;
+    private final Cached[] allPlans;
+    private final List<Map<String, Cached>> plansByType;
+    private final Cached noPlans;
+
+    public PlanStore(ObjectMapper objectMapper, FoodSearchIndex foodIndex,
+            @Value("${app.plans.seed-location:classpath:data/plan_seed.json}") String seedLocation,
+            @Value("${app.foods.search.min-match-score:0.45}") double minMatchScore) throws IOException {
+        this.objectMapper = objectMapper;
+        this.foodIndex = foodIndex;
+        this.minMatchScore = minMatchScore;
+
+        Resource resource = new DefaultResourceLoader().getResource(seedLocation);
+        JsonNode root;
+        try (InputStream in = resource.getInputStream()) {
+            root = objectMapper.readTree(in);
+        }
+
+        List<Plan> loaded = new ArrayList<>();
+        for (JsonNode plan : root.path("dietPlans")) {
+            loaded.add(loadPlan(plan));
+        }
+        this.plans = List.copyOf(loaded);
+
+        PlanDetail[] details = PlanDetail.values();
+        this.planResponses = new Cached[details.length][plans.size()];
+        this.allPlans = new Cached[details.length];
+        List<Map<String, Cached>> byDetail = new ArrayList<>();
+        for (PlanDetail detail : details) {
+            List<Map<String, Object>> views = new ArrayList<>();
+            Map<String, List<Map<String, Object>>> viewsByType = new LinkedHashMap<>();
+            for (int i = 0; i < plans.size(); i++) {
+                Map<String, Object> view = planView(plans.get(i), detail);
+                views.add(view);
+                viewsByType.computeIfAbsent(plans.get(i).type(), t -> new ArrayList<>()).add(view);
+                planResponses[detail.ordinal()][i] = cache(view);
+            }
+            allPlans[detail.ordinal()] = cache(Map.of("plans", views));
+            Map<String, Cached> byType = new HashMap<>();
+            viewsByType.forEach((type, list) -> byType.put(type, cache(Map.of("plans", list))));
+            byDetail.add(Map.copyOf(byType));
+        }
+        this.plansByType = List.copyOf(byDetail);
+        this.noPlans = cache(Map.of("plans", List.of()));
+
+        log.info("Plan store loaded: {} plans from {}", plans.size(), seedLocation);
+    }
+
+    public List<Plan> getPlans() {
+        return plans;
+    }
+
+    /** All plans, or those of one diet type ("vegetarian", "non-vegetarian"). */
+    public Cached list(String type, PlanDetail detail) {
+        if (type == null) {
+            return allPlans[detail.ordinal()];
+        }
+        return plansByType.get(detail.ordinal()).getOrDefault(type, noPlans);
+    }
+
+    /**
+     * Plan whose calories are closest to {@code calories}, optionally within
+     * one type; -1 if there is none. Ties go to the first plan in the seed,
+     * like findClosestPlanForType on the dashboard.
+     */
+    public int closest(String type, int calories) {
+        int best = -1;
+        int bestDiff = Integer.MAX_VALUE;
+        for (int i = 0; i < plans.size(); i++) {
+            Plan plan = plans.get(i);
+            if (type != null && !type.equals(plan.type())) {
+                continue;
+            }
+            int diff = Math.abs(plan.calories() - calories);
+            if (diff < bestDiff) {
+                best = i;
+                bestDiff = diff;
+            }
+        }
+        return best;
+    }
+
+    public Cached plan(int index, PlanDetail detail) {
+        return planResponses[detail.ordinal()][index];
+    }
+
+    private Plan loadPlan(JsonNode node) {
+        List<Meal> meals = new ArrayList<>();
+        for (JsonNode meal : node.path("meals")) {
+            List<Item> items = new ArrayList<>();
+            for (JsonNode item : meal.path("items")) {
+                items.add(loadItem(item));
+            }
+            meals.add(new Meal(meal.path("mealNumber").asInt(), List.copyOf(items), sumItems(items)));
+        }
+        return new Plan(node.path("type").asText(), node.path("calories").asInt(), List.copyOf(meals), sumMeals(meals));
+    }
+
+    private Item loadItem(JsonNode node) {
+        return resolveItem(node.path("name").asText(), node.path("quantity").asText(),
+                node.path("protein").asDouble(), node.path("carbs").asDouble(),
+                node.path("fats").asDouble(), node.path("calories").asDouble());
+    }
+
+    /**
+     * Builds a plan item the way seed items are built: catalog match for the
+     * name, micros scaled by the gram weight in {@code quantity}. Also used
+     * for user-supplied plans.
+     */
+    public Item resolveItem(String name, String quantity, double protein, double carbs, double fats, double calories) {
+        Double grams = parseGrams(quantity);
+        double[] micros = new double[Nutrient.values().length];
+        Arrays.fill(micros, Double.NaN);
+
+        FoodCatalog catalog = foodIndex.getCatalog();
+        int row = foodIndex.resolve(name, minMatchScore);
+        if (row >= 0 && grams != null) {
+            for (Nutrient nutrient : Nutrient.values()) {
+                micros[nutrient.ordinal()] = catalog.value(row, nutrient) * grams / 100;
+            }
+        }
+        return new Item(name, quantity, grams, row >= 0 ? catalog.name(row) : null,
+                protein, carbs, fats, calories, micros, row >= 0 ? catalog.keyAntioxidant(row) : null);
+    }
+
+    private static Totals sumItems(List<Item> items) {
+        double protein = 0, carbs = 0, fats = 0, calories = 0;
+        double[] micros = new double[Nutrient.values().length];
+        Arrays.fill(micros, Double.NaN);
+        for (Item item : items) {
+            protein += item.protein();
+            carbs += item.carbs();
+            fats += item.fats();
+            calories += item.calories();
+            addMicros(micros, item.micros());
+        }
+        return new Totals(protein, carbs, fats, calories, micros);
+    }
+
+    private static Totals sumMeals(List<Meal> meals) {
+        double protein = 0, carbs = 0, fats = 0, calories = 0;
+        double[] micros = new double[Nutrient.values().length];
+        Arrays.fill(micros, Double.NaN);
+        for (Meal meal : meals) {
+            protein += meal.total().protein();
+            carbs += meal.total().carbs();
+            fats += meal.total().fats();
+            calories += meal.total().calories();
+            addMicros(micros, meal.total().micros());
+        }
+        return new Totals(protein, carbs, fats, calories, micros);
+    }
+
+    // NaN means "no data", so a total stays NaN only if no part had a value
+    private static void addMicros(double[] total, double[] part) {
+        for (int i = 0; i < total.length; i++) {
+            if (!Double.isNaN(part[i])) {
+                total[i] = Double.isNaN(total[i]) ? part[i] : total[i] + part[i];
+            }
+        }
+    }
+
+    /** Sum of the gram/ml amounts in a quantity like "200 g + 10 g"; null for piece counts. */
+    static Double parseGrams(String quantity) {
+        if (quantity == null) {
+            return null;
+        }
+        double total = 0;
+        boolean any = false;
+        for (String part : quantity.split("\\+")) {
+            Matcher m = GRAMS.matcher(part.trim().toLowerCase(Locale.ROOT));
+            if (!m.matches()) {
+                return null;
+            }
+            total += Double.parseDouble(m.group(1));
+            any = true;
+        }
+        return any ? total : null;
+    }
+
+    // Same shape as the web app's DietPlan / Meal / PlanFoodItem types; summaries
+    // replace each meal's items with their count
+    private static Map<String, Object> planView(Plan plan, PlanDetail detail) {
+        List<Map<String, Object>> meals = new ArrayList<>();
+        for (Meal meal : plan.meals()) {
+            Map<String, Object> mealView = new LinkedHashMap<>();
+            mealView.put("mealNumber", meal.mealNumber());
+            if (detail == PlanDetail.SUMMARY) {
+                mealView.put("itemCount", meal.items().size());
+                mealView.put("total", totalsView(meal.total()));
+                meals.add(mealView);
+                continue;
+            }
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (Item item : meal.items()) {
+                Map<String, Object> view = new LinkedHashMap<>();
+                view.put("name", item.name());
+                view.put("quantity", item.quantity());
+                putMacros(view, item.protein(), item.carbs(), item.fats(), item.calories());
+                putMicros(view, item.micros());
+                if (item.keyAntioxidant() != null) {
+                    view.put("keyAntioxidant", item.keyAntioxidant());
+                }
+                if (item.matchedFood() != null) {
+                    view.put("matchedFood", item.matchedFood());
+                }
+                items.add(view);
+            }
+            mealView.put("items", items);
+            mealView.put("total", totalsView(meal.total()));
+            meals.add(mealView);
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("type", plan.type());
+        view.put("calories", plan.calories());
+        view.put("meals", meals);
+        view.put("total", totalsView(plan.total()));
+        return view;
+    }
+
+    private static Map<String, Object> totalsView(Totals totals) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        putMacros(view, totals.protein(), totals.carbs(), totals.fats(), totals.calories());
+        putMicros(view, totals.micros());
+        return view;
+    }
+
+    private static void putMacros(Map<String, Object> view, double protein, double carbs, double fats, double calories) {
+        view.put("protein", round(protein));
+        view.put("carbs", round(carbs));
+        view.put("fats", round(fats));
+        view.put("calories", round(calories));
+    }
+
+    private static void putMicros(Map<String, Object> view, double[] micros) {
+        for (Nutrient nutrient : Nutrient.values()) {
+            double v = micros[nutrient.ordinal()];
+            if (!Double.isNaN(v)) {
+                view.put(nutrient.getField(), round(v));
+            }
+        }
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 100) / 100.0;
+    }
+
+    private Cached cache(Object view) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(view);
+            return new Cached(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize plans", e);
+        }
+    }
+}
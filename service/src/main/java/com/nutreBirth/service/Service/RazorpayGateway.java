@@ -0,0 +1,171 @@
+package com.nutreBirth.service.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.razorpay.RazorpayException;
+
+/**
+ * Thin Razorpay Orders API client shared by all requests.
+ *
+ * The razorpay-java SDK rebuilds its OkHttp client on every
+ * {@code new RazorpayClient(...)} and offers no timeout or base URL settings,
+ * so we call the REST API directly over one pooled {@link HttpClient}. In-flight
+ * calls are capped by a semaphore so a slow gateway cannot pin every worker.
+ */
+@Service
+public class RazorpayGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(RazorpayGateway.class);
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final URI ordersUri;
+    private final String authorization;
+    private final Duration requestTimeout;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+
+    public RazorpayGateway(ObjectMapper objectMapper,
+            @Value("${razorpay.api-base-url:https://api.razorpay.com}") String baseUrl,
+            @Value("${razorpay.key-id}") String keyId,
+            @Value("${razorpay.key-secret}") String keySecret,
+            @Value("${razorpay.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${razorpay.request-timeout:PT10S}") Duration requestTimeout,
+            @Value("${razorpay.acquire-timeout:PT2S}") Duration acquireTimeout,
+            @Value("${razorpay.max-concurrent-calls:32}") int maxConcurrentCalls,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.objectMapper = objectMapper;
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout);
+        if (virtualThreads) {
+            // Response handling and async callbacks run on virtual threads too
+            builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+        }
+        this.httpClient = builder.build();
+        this.ordersUri = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/orders");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((keyId + ":" + keySecret).getBytes(StandardCharsets.UTF_8));
+        this.requestTimeout = requestTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Creates an order, blocking the caller for at most acquire + request timeout.
+     */
+    public JsonNode createOrder(long amountPaise, String currency, String receipt, Map<String, String> notes)
+            throws RazorpayException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new GatewayBusyException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RazorpayException("Interrupted while waiting for payment gateway", e);
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    orderRequest(amountPaise, currency, receipt, notes),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            return parse(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RazorpayException("Interrupted while calling payment gateway", e);
+        } catch (java.io.IOException e) {
+            throw new RazorpayException("Payment gateway I/O error: " + e.getMessage(), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Non-blocking variant: no thread is held while Razorpay responds. Fails
+     * fast with {@link GatewayBusyException} when the concurrency limit is hit.
+     */
+    public CompletableFuture<JsonNode> createOrderAsync(long amountPaise, String currency, String receipt,
+            Map<String, String> notes) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new GatewayBusyException());
+        }
+        HttpRequest request;
+        try {
+            request = orderRequest(amountPaise, currency, receipt, notes);
+        } catch (RazorpayException e) {
+            permits.release();
+            return CompletableFuture.failedFuture(e);
+        }
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .whenComplete((response, ex) -> permits.release())
+                .thenApply(response -> {
+                    try {
+                        return parse(response);
+                    } catch (RazorpayException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private HttpRequest orderRequest(long amountPaise, String currency, String receipt, Map<String, String> notes)
+            throws RazorpayException {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(Map.of(
+                    "amount", amountPaise,
+                    "currency", currency,
+                    "receipt", receipt,
+                    "notes", notes));
+        } catch (JsonProcessingException e) {
+            throw new RazorpayException("Failed to encode order request", e);
+        }
+        return HttpRequest.newBuilder(ordersUri)
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private JsonNode parse(HttpResponse<String> response) throws RazorpayException {
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(response.body());
+        } catch (JsonProcessingException e) {
+            throw new RazorpayException("Unreadable payment gateway response (HTTP " + response.statusCode() + ")", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            String description = json.path("error").path("description").asText("HTTP " + response.statusCode());
+            log.warn("Razorpay returned HTTP {}: {}", response.statusCode(), description);
+            throw new RazorpayException(description);
+        }
+        return json;
+    }
+
+    /**
+     * All gateway permits are taken; callers should answer 503.
+     */
+    public static class GatewayBusyException extends RazorpayException {
+        public GatewayBusyException() {
+            super("Payment gateway is busy, try again shortly");
+        }
+    }
+}
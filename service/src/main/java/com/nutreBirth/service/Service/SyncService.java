@@ -0,0 +1,256 @@
+package com.nutreBirth.service.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Entity.Meal;
+import com.nutreBirth.service.Entity.Profile;
+import com.nutreBirth.service.dto.MealLogRequest;
+import com.nutreBirth.service.dto.ProfileRequest;
+import com.nutreBirth.service.dto.SyncChange;
+import com.nutreBirth.service.repo.MealRepository;
+import com.nutreBirth.service.repo.ProfileRepository;
+
+/**
+ * Delta sync of meals and the profile between the server and the browser.
+ *
+ * Every write stamps the next per-user version from {@link ChangeSequence}
+ * on the rows it changes; a client's cursor is the highest version it has
+ * seen, and a pull returns rows with a higher version. Deletes are kept as
+ * tombstones so they sync too. Pushed changes win when their client edit
+ * time is newer than the stored one (last writer wins); older ones are
+ * reported back as stale. A push takes the user's ChangeSequence lock before
+ * it reads the stored rows, so pushes for one user are decided one after the
+ * other. Meal changes update the daily rollups in the same transaction.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    public static final String MEAL = "meal";
+    public static final String PROFILE = "profile";
+
+    private final MealRepository mealRepository;
+    private final ProfileRepository profileRepository;
+    private final ChangeSequence changeSequence;
+    private final DailyRollupService rollupService;
+    private final ObjectMapper objectMapper;
+
+    public SyncService(MealRepository mealRepository, ProfileRepository profileRepository,
+            ChangeSequence changeSequence, DailyRollupService rollupService, ObjectMapper objectMapper) {
+        this.mealRepository = mealRepository;
+        this.profileRepository = profileRepository;
+        this.changeSequence = changeSequence;
+        this.rollupService = rollupService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Rows changed after {@code since}, oldest first, at most {@code limit}
+     * meals. A cursor ahead of the server (e.g. after a data reset) is
+     * answered with everything from the start and {@code reset} set.
+     */
+    @Transactional(readOnly = true)
+    public ChangePage changesSince(UUID userId, long since, int limit) {
+        long current = changeSequence.current(userId);
+        boolean reset = since > current;
+        if (reset) {
+            since = 0;
+        }
+
+        List<Long> ids = mealRepository.findChangedIds(userId, since, PageRequest.of(0, limit + 1));
+        boolean hasMore = ids.size() > limit;
+        List<Meal> meals = ids.isEmpty()
+                ? List.of()
+                : mealRepository.findWithItems(hasMore ? ids.subList(0, limit) : ids);
+
+        // Rows committed since `current` was read may already be in the page
+        long last = meals.isEmpty() ? since : meals.get(meals.size() - 1).getVersion();
+        long cursor = hasMore ? last : Math.max(current, last);
+        long from = since;
+        Profile profile = profileRepository.findById(userId)
+                .filter(p -> p.getVersion() > from && p.getVersion() <= cursor)
+                .orElse(null);
+        return new ChangePage(meals, profile, cursor, hasMore, reset);
+    }
+
+    /**
+     * Applies pushed changes in one transaction.
+     *
+     * @throws IllegalArgumentException naming the first invalid change; nothing is applied then
+     */
+    @Transactional
+    public ApplyResult apply(UUID userId, List<SyncChange> changes) {
+        List<Object> payloads = new ArrayList<>(changes.size());
+        Set<String> mealIds = new HashSet<>();
+        for (int i = 0; i < changes.size(); i++) {
+            try {
+                payloads.add(parse(changes.get(i)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("changes[" + i + "]: " + e.getMessage());
+            }
+            if (MEAL.equals(changes.get(i).getType())) {
+                mealIds.add(changes.get(i).getId());
+            }
+        }
+
+        // Serializes the user's writers before anything is compared, so a
+        // concurrent push cannot decide against rows this one is replacing
+        changeSequence.lock(userId);
+        Map<String, Meal> meals = new HashMap<>();
+        if (!mealIds.isEmpty()) {
+            mealRepository.findWithItemsByClientIds(userId, mealIds)
+                    .forEach(meal -> meals.put(meal.getClientId(), meal));
+        }
+        Profile profile = profileRepository.findById(userId).orElse(null);
+        boolean profileChanged = false;
+
+        Set<Meal> changed = new LinkedHashSet<>();
+        DailyRollupService.Deltas deltas = rollupService.deltas();
+        List<Map<String, String>> stale = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            SyncChange change = changes.get(i);
+            if (MEAL.equals(change.getType())) {
+                Meal meal = meals.get(change.getId());
+                if (meal != null && change.getUpdatedAt() <= meal.getUpdatedAt()) {
+                    stale.add(Map.of("type", MEAL, "id", change.getId()));
+                    continue;
+                }
+                if (meal == null) {
+                    meal = new Meal();
+                    meal.setUserId(userId);
+                    meal.setClientId(change.getId());
+                    meals.put(change.getId(), meal);
+                } else {
+                    deltas.remove(meal);
+                }
+                applyMeal(meal, change, (MealLogRequest) payloads.get(i));
+                deltas.add(meal);
+                changed.add(meal);
+            } else {
+                if (profile != null && change.getUpdatedAt() <= profile.getUpdatedAt()) {
+                    stale.add(Map.of("type", PROFILE));
+                    continue;
+                }
+                if (profile == null) {
+                    profile = new Profile();
+                    profile.setUserId(userId);
+                }
+                applyProfile(profile, change.getUpdatedAt(), (ProfileRequest) payloads.get(i));
+                profileChanged = true;
+            }
+        }
+
+        int count = changed.size() + (profileChanged ? 1 : 0);
+        if (count > 0) {
+            long version = changeSequence.reserve(userId, count);
+            for (Meal meal : changed) {
+                meal.setVersion(version++);
+                if (meal.getId() == null) {
+                    mealRepository.save(meal);
+                }
+            }
+            if (profileChanged) {
+                profile.setVersion(version);
+                profileRepository.save(profile);
+            }
+            rollupService.apply(userId, deltas);
+        }
+
+        log.debug("Sync push for user {}: {} change(s), {} applied, {} stale",
+                userId, changes.size(), count, stale.size());
+        return new ApplyResult(count, stale);
+    }
+
+    private Object parse(SyncChange change) {
+        if (change == null) {
+            throw new IllegalArgumentException("change is null");
+        }
+        if (change.getUpdatedAt() <= 0) {
+            throw new IllegalArgumentException("updatedAt is required");
+        }
+        if (MEAL.equals(change.getType())) {
+            if (change.getId() == null || change.getId().isBlank()
+                    || change.getId().length() > MealLogService.MAX_CLIENT_ID_LENGTH) {
+                throw new IllegalArgumentException("meal id is required");
+            }
+            if (change.isDeleted()) {
+                return null;
+            }
+            MealLogRequest meal = convert(change, MealLogRequest.class);
+            meal.setId(change.getId());
+            String error = MealLogService.validate(meal);
+            if (error != null) {
+                throw new IllegalArgumentException(error);
+            }
+            return meal;
+        }
+        if (PROFILE.equals(change.getType())) {
+            if (change.isDeleted()) {
+                throw new IllegalArgumentException("the profile cannot be deleted");
+            }
+            ProfileRequest profile = convert(change, ProfileRequest.class);
+            if (profile.getDietType() != null && !profile.getDietType().equals("vegetarian")
+                    && !profile.getDietType().equals("non-vegetarian")) {
+                throw new IllegalArgumentException("unknown dietType");
+            }
+            return profile;
+        }
+        throw new IllegalArgumentException("type must be \"" + MEAL + "\" or \"" + PROFILE + "\"");
+    }
+
+    private <T> T convert(SyncChange change, Class<T> type) {
+        if (change.getData() == null || !change.getData().isObject()) {
+            throw new IllegalArgumentException("data is required");
+        }
+        try {
+            return objectMapper.treeToValue(change.getData(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("data is not a valid " + change.getType());
+        }
+    }
+
+    private static void applyMeal(Meal meal, SyncChange change, MealLogRequest data) {
+        meal.setUpdatedAt(change.getUpdatedAt());
+        meal.setDeleted(change.isDeleted());
+        if (change.isDeleted()) {
+            meal.getItems().clear();
+        } else {
+            MealLogService.setContent(meal, data);
+        }
+    }
+
+    private static void applyProfile(Profile profile, long updatedAt, ProfileRequest data) {
+        profile.setUpdatedAt(updatedAt);
+        profile.setHeightCm(data.getHeightCm());
+        profile.setWeightKg(data.getWeightKg());
+        profile.setAge(data.getAge());
+        profile.setSex(data.getSex());
+        profile.setActivityLevel(data.getActivityLevel());
+        profile.setCalorieTarget(data.getCalorieTarget());
+        profile.setProteinTargetG(data.getProteinTargetG());
+        profile.setDietType(data.getDietType());
+    }
+
+    /** One pull: changed meals (items loaded), the profile if it changed, and the next cursor. */
+    public record ChangePage(List<Meal> meals, Profile profile, long cursor, boolean hasMore, boolean reset) {
+    }
+
+    public record ApplyResult(int applied, List<Map<String, String>> stale) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.nutreBirth.service.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.repo.UserRepository;
+
+/**
+ * Find-or-create for Google logins.
+ *
+ * Concurrent first logins for the same email (double clicks, several tabs)
+ * are coalesced: one caller runs the insert and the rest wait on its result.
+ * Across instances the unique index on users.email is the arbiter, and a
+ * losing insert falls back to reading the winner's row.
+ */
+@Service
+public class UserProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserProvisioningService.class);
+
+    private final UserRepository userRepository;
+    private final ConcurrentHashMap<String, CompletableFuture<User>> inFlight = new ConcurrentHashMap<>();
+
+    public UserProvisioningService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public User findOrCreate(String email, String name, String pictureUrl) {
+        // Returning users never touch the coalescing map
+        Optional<User> existing = userRepository.findByEmail(email);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        CompletableFuture<User> mine = new CompletableFuture<>();
+        CompletableFuture<User> leader = inFlight.putIfAbsent(email, mine);
+        if (leader != null) {
+            log.debug("Waiting on in-flight user creation for email: {}", email);
+            return await(leader);
+        }
+
+        try {
+            User user = insertOrFetch(email, name, pictureUrl);
+            mine.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(email, mine);
+        }
+    }
+
+    /**
+     * Insert-if-absent. A unique-constraint conflict means another instance
+     * (or a leader that finished just before us) won, so read its row.
+     */
+    User insertOrFetch(String email, String name, String pictureUrl) {
+        Optional<User> existing = userRepository.findByEmail(email);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        User u = new User();
+        u.setEmail(email);
+        u.setName(name);
+        u.setPictureUrl(pictureUrl);
+        u.setPlan(PlanType.FREE); // default
+        try {
+            User saved = userRepository.saveAndFlush(u);
+            log.info("New user created with id: {}", saved.getId());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            log.info("Concurrent create for email {} lost the race, reading existing row", email);
+            return userRepository.findByEmail(email).orElseThrow(() -> e);
+        }
+    }
+
+    private static User await(CompletableFuture<User> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
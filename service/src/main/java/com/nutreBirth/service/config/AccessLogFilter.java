@@ -0,0 +1,110 @@
+package com.nutreBirth.service.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * One access record per request, replacing the per-request debug/info lines
+ * the auth and controller code used to emit. Only a sample of successful
+ * requests is logged; server errors and slow requests always are.
+ *
+ * Records go to the "access" logger with key/value pairs, so the json
+ * logging profile emits them as fields.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    /** Set by JwtAuthenticationFilter once the cookie verified. */
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public AccessLogFilter(
+            @Value("${app.access-log.enabled:true}") boolean enabled,
+            @Value("${app.access-log.sample-rate:0.01}") double sampleRate,
+            @Value("${app.access-log.slow-threshold:PT1S}") Duration slowThreshold) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !accessLog.isInfoEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Status is only final once the async response completes
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(request, response, start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long start) {
+        long elapsed = System.nanoTime() - start;
+        int status = response.getStatus();
+        boolean always = status >= 500 || elapsed >= slowThresholdNanos;
+        if (!always && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        long durationMs = elapsed / 1_000_000;
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+        accessLog.atInfo()
+                .addKeyValue("method", method)
+                .addKeyValue("path", path)
+                .addKeyValue("status", status)
+                .addKeyValue("duration_ms", durationMs)
+                .addKeyValue("user_id", userId)
+                .addKeyValue("sampled", !always)
+                .log("{} {} {} {}ms user={}", method, path, status, durationMs, userId);
+    }
+}
@@ -0,0 +1,29 @@
+package com.nutreBirth.service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated pool for PDF exports. Rendering is CPU-bound, so a burst of
+ * exports runs on a few fixed workers with a short queue instead of on the
+ * request threads; anything beyond that is rejected (503) rather than
+ * piling up.
+ */
+@Configuration
+public class ExportConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor pdfExportExecutor(
+            @Value("${app.export.pdf.workers:2}") int workers,
+            @Value("${app.export.pdf.queue-capacity:8}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("pdf-export-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.nutreBirth.service.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+
+/**
+ * Shared Google ID token verification objects. The verifier and its key
+ * manager are thread-safe and keep Google's public certs cached, so they must
+ * be created once rather than per login.
+ */
+@Configuration
+public class GoogleAuthConfig {
+
+    @Bean
+    HttpTransport googleHttpTransport() {
+        return new NetHttpTransport();
+    }
+
+    /**
+     * certs-url is pluggable so tests (or an internal mirror) can serve the
+     * X.509 cert map instead of googleapis.com.
+     */
+    @Bean
+    GooglePublicKeysManager googlePublicKeysManager(
+            HttpTransport googleHttpTransport,
+            @Value("${google.certs-url:https://www.googleapis.com/oauth2/v1/certs}") String certsUrl) {
+        return new GooglePublicKeysManager.Builder(googleHttpTransport, GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+    }
+
+    @Bean
+    GoogleIdTokenVerifier googleIdTokenVerifier(
+            GooglePublicKeysManager googlePublicKeysManager,
+            @Value("${google.client-id}") String clientId) {
+        return new GoogleIdTokenVerifier.Builder(googlePublicKeysManager)
+                .setAudience(List.of(clientId))
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.nutreBirth.service.config;
+
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.security.CustomUserDetailsService;
+import com.nutreBirth.service.security.VerifiedTokenCache;
+import com.nutreBirth.service.utils.BoundedLruCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the in-process auth caches to Micrometer. The caches already
+ * count hits/misses/evictions, so these meters just read them at scrape time.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(JwtService jwtService) {
+        return registry -> {
+            VerifiedTokenCache cache = jwtService.getTokenCache();
+            if (cache != null) {
+                bindCache(registry, "auth.token.cache", cache, VerifiedTokenCache::size,
+                        VerifiedTokenCache::getHitCount, VerifiedTokenCache::getMissCount,
+                        VerifiedTokenCache::getEvictionCount);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder userCacheMetrics(CustomUserDetailsService userDetailsService) {
+        return registry -> {
+            BoundedLruCache<?, ?> cache = userDetailsService.getCache();
+            if (cache != null) {
+                bindCache(registry, "auth.user.cache", cache, BoundedLruCache::size,
+                        BoundedLruCache::getHitCount, BoundedLruCache::getMissCount,
+                        BoundedLruCache::getEvictionCount);
+            }
+        };
+    }
+
+    private static <T> void bindCache(MeterRegistry registry, String name, T cache,
+            ToDoubleFunction<T> size, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses,
+            ToDoubleFunction<T> evictions) {
+        Gauge.builder(name + ".size", cache, size)
+                .description("Entries currently cached")
+                .register(registry);
+        FunctionCounter.builder(name + ".requests", cache, hits)
+                .tag("result", "hit")
+                .description("Cache lookups")
+                .register(registry);
+        FunctionCounter.builder(name + ".requests", cache, misses)
+                .tag("result", "miss")
+                .description("Cache lookups")
+                .register(registry);
+        FunctionCounter.builder(name + ".evictions", cache, evictions)
+                .description("Entries dropped to stay within max-size")
+                .register(registry);
+    }
+}
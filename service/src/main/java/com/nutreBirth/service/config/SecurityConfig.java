@@ -1,16 +1,29 @@
 package com.nutreBirth.service.config;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.nutreBirth.service.security.JwtAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -21,6 +34,39 @@ public class SecurityConfig {
         this.jwtAuthFilter = jwtAuthFilter;
     }
 
+    /**
+     * Prometheus scrapes: HTTP Basic with the app.metrics scrape credentials,
+     * checked in constant time. The scrape carries auth failure counts and
+     * gateway latencies, so it is never public; with no password set every
+     * scrape is refused.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http,
+            @Value("${app.metrics.scrape-username:prometheus}") String username,
+            @Value("${app.metrics.scrape-password:}") String password) throws Exception {
+        byte[] expected = password.getBytes(StandardCharsets.UTF_8);
+        AuthenticationManager scrapeAuth = authentication -> {
+            byte[] given = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (expected.length == 0 || !username.equals(authentication.getName())
+                    || !MessageDigest.isEqual(given, expected)) {
+                throw new BadCredentialsException("Bad scrape credentials");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(username, null,
+                    List.of(new SimpleGrantedAuthority("ROLE_METRICS")));
+        };
+
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(scrapeAuth)
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+
+        return http.build();
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
 
@@ -30,7 +76,18 @@ public class SecurityConfig {
 
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async re-dispatches were authorized on the original REQUEST dispatch
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/auth/**", "/error").permitAll()
+                        // Probes; /actuator/prometheus is handled by metricsFilterChain
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        // Public reference data, already shipped to every browser
+                        .requestMatchers("/foods/**").permitAll()
+                        // Full plans are premium; the role comes from the JWT plan claim
+                        .requestMatchers(HttpMethod.GET, "/plans/full").hasRole("PREMIUM")
+                        .requestMatchers("/export/plan.pdf").hasRole("PREMIUM")
+                        // Razorpay server-to-server calls; authenticated by HMAC signature
+                        .requestMatchers(HttpMethod.POST, "/payment/webhook").permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -16,13 +16,14 @@ import org.slf4j.LoggerFactory;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken.Payload;
 import com.nutreBirth.service.Entity.User;
-import com.nutreBirth.service.Enum.PlanType;
-import com.nutreBirth.service.repo.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletResponse;
 
 import com.nutreBirth.service.Service.GoogleTokenVerifierService;
 import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.Service.UserProvisioningService;
 import com.nutreBirth.service.dto.GoogleLoginRequest;
 
 @RestController
@@ -31,8 +32,10 @@ public class AuthController {
     private static final Logger log = LoggerFactory.getLogger(AuthController.class);
 
     private final GoogleTokenVerifierService googleTokenVerifier;
-    private final UserRepository userRepository;
+    private final UserProvisioningService userProvisioningService;
     private final JwtService jwtService;
+    private final MeterRegistry meterRegistry;
+    private final Timer provisionTimer;
 
     @Value("${app.auth.cookie-name:nb_auth}")
     private String cookieName;
@@ -44,20 +47,28 @@ public class AuthController {
     private String cookieSameSite;
 
     public AuthController(GoogleTokenVerifierService googleTokenVerifier,
-            UserRepository userRepository,
-            JwtService jwtService) {
+            UserProvisioningService userProvisioningService,
+            JwtService jwtService,
+            MeterRegistry meterRegistry) {
         this.googleTokenVerifier = googleTokenVerifier;
-        this.userRepository = userRepository;
+        this.userProvisioningService = userProvisioningService;
         this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+        this.provisionTimer = Timer.builder("auth.login.provision")
+                .description("Find-or-create of the user row during login")
+                .register(meterRegistry);
     }
 
     @PostMapping(value = "/google", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> loginWithGoogle(@RequestBody GoogleLoginRequest request, HttpServletResponse response) {
-        log.info("POST /auth/google endpoint called");
+        log.debug("POST /auth/google endpoint called");
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
         try {
             if (request == null || request.getIdToken() == null || request.getIdToken().isBlank()) {
                 log.error("Login request missing idToken");
+                result = "bad_request";
                 return ResponseEntity
                         .status(HttpStatus.BAD_REQUEST)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -71,6 +82,7 @@ public class AuthController {
                 payload = googleTokenVerifier.verify(request.getIdToken());
             } catch (RuntimeException ex) {
                 log.warn("Google auth failed during token verification: {}", ex.getMessage(), ex);
+                result = "unauthorized";
                 return ResponseEntity
                         .status(HttpStatus.UNAUTHORIZED)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -83,30 +95,14 @@ public class AuthController {
 
             log.debug("Google token verified for email: {}", email);
 
-            // Find or create user
-            User user = userRepository.findByEmail(email)
-                    .orElseGet(() -> {
-                        log.info("Creating new user for email: {}", email);
-                        User u = new User();
-                        u.setEmail(email);
-                        u.setName(name);
-                        u.setPictureUrl(picture);
-                        u.setPlan(PlanType.FREE); // default
-                        User savedUser = userRepository.save(u);
-                        log.info("New user created with id: {}", savedUser.getId());
-                        return savedUser;
-                    });
-
-            if (user.getId() != null) {
-                log.debug("Existing user found with id: {}", user.getId());
-            }
+            // Find or create user (concurrent first logins are coalesced)
+            User user = provisionTimer.record(() -> userProvisioningService.findOrCreate(email, name, picture));
+            log.debug("Resolved user id: {}", user.getId());
 
             // Issue YOUR JWT (not Google's)
-            log.debug("Generating JWT for user: {}", email);
             String jwt = jwtService.generate(user);
 
             // Set JWT as HTTP-only cookie
-            log.debug("Setting HTTP-only cookie: {} (secure={}, sameSite={})", cookieName, cookieSecure, cookieSameSite);
             ResponseCookie cookie = ResponseCookie.from(cookieName, jwt)
                     .httpOnly(true)
                     .secure(cookieSecure) // set true in production (HTTPS)
@@ -118,6 +114,7 @@ public class AuthController {
             response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
 
             log.info("User {} logged in successfully with plan: {}", email, user.getPlan());
+            result = "ok";
 
             // Return minimal user info (NO TOKEN)
             return ResponseEntity.ok(Map.of(
@@ -130,12 +127,17 @@ public class AuthController {
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(Map.of("error", "Unexpected server error"));
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("POST /auth/google end to end")
+                    .tag("result", result)
+                    .register(meterRegistry));
         }
     }
 
     @PostMapping(value = "/logout", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<?> logout() {
-        log.info("POST /auth/logout endpoint called");
+        log.debug("POST /auth/logout endpoint called");
 
         try {
             log.debug("Clearing authentication cookie: {}", cookieName);
@@ -0,0 +1,258 @@
+package com.nutreBirth.service.controller;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.nutreBirth.service.Service.HistoryExporter;
+import com.nutreBirth.service.Service.PlanPdfExporter;
+import com.nutreBirth.service.Service.PlanStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Premium PDF export of a diet plan (restricted to ROLE_PREMIUM in
+ * SecurityConfig). The PDF is rendered on the bounded pdfExportExecutor
+ * and streamed to the response as pages are produced; when the pool and
+ * its queue are full the request gets a 503. A render that outlives
+ * app.export.pdf.timeout, or whose request fails, is cancelled: its next
+ * write throws, so it stops and frees the worker.
+ *
+ * Also the meal-log export for any signed-in user (/export/history).
+ */
+@RestController
+@RequestMapping("/export")
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+
+    // Bounds for an open-ended /export/history range
+    private static final LocalDate EARLIEST = LocalDate.of(1900, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private final PlanStore planStore;
+    private final PlanPdfExporter pdfExporter;
+    private final HistoryExporter historyExporter;
+    private final ThreadPoolTaskExecutor exportExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+
+    public ExportController(PlanStore planStore, PlanPdfExporter pdfExporter, HistoryExporter historyExporter,
+            @Qualifier("pdfExportExecutor") ThreadPoolTaskExecutor exportExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${app.export.pdf.timeout:PT2M}") Duration timeout) {
+        this.planStore = planStore;
+        this.pdfExporter = pdfExporter;
+        this.historyExporter = historyExporter;
+        this.exportExecutor = exportExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /** The stored plan closest to {@code calories}, as served by /plans/full. */
+    @GetMapping("/plan.pdf")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Void> planPdf(
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam("calories") int calories,
+            HttpServletResponse response) {
+        int index = planStore.closest(type, calories);
+        if (index < 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No plan for type");
+        }
+        PlanStore.Plan plan = planStore.getPlans().get(index);
+        String filename = "nutrebirth-plan-" + plan.type() + "-" + plan.calories() + ".pdf";
+        return task("stored", filename, response, out -> pdfExporter.export(plan, out));
+    }
+
+    /** A client-built plan in the DietPlan JSON shape, read from the body as it streams in. */
+    @PostMapping(value = "/plan.pdf", consumes = "application/json")
+    @ResponseStatus(HttpStatus.OK)
+    public WebAsyncTask<Void> customPlanPdf(HttpServletRequest request, HttpServletResponse response) {
+        return task("custom", "nutrebirth-plan.pdf", response,
+                out -> pdfExporter.exportCustom(request.getInputStream(), out));
+    }
+
+    /**
+     * The caller's whole meal log (optionally limited to from..to), one line
+     * per logged item, as NDJSON (default) or CSV. Streamed as it is read in
+     * short per-page transactions, so no database connection is held while
+     * the client downloads.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<StreamingResponseBody> history(
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Principal principal) {
+        HistoryExporter.Format exportFormat;
+        try {
+            exportFormat = HistoryExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        }
+        UUID userId = UUID.fromString(principal.getName());
+        LocalDate start = from != null ? from : EARLIEST;
+        LocalDate end = to != null ? to : LATEST;
+        String tag = exportFormat.name().toLowerCase(Locale.ROOT);
+
+        StreamingResponseBody body = out -> {
+            long begin = System.nanoTime();
+            String result = "success";
+            try {
+                long rows = historyExporter.export(userId, start, end, exportFormat, out);
+                meterRegistry.counter("export.history.rows", "format", tag).increment(rows);
+            } catch (IOException e) {
+                result = "io_error";
+                log.debug("History export aborted: {}", e.getMessage());
+                throw e;
+            } finally {
+                Timer.builder("export.history")
+                        .tag("format", tag)
+                        .tag("result", result)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(exportFormat == HistoryExporter.Format.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"nutrebirth-history." + tag + "\"")
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> exportsBusy(RejectedExecutionException e) {
+        meterRegistry.counter("export.pdf.rejected").increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "5")
+                .body(Map.of("error", "Too many exports in progress, try again shortly"));
+    }
+
+    private interface Render {
+        int to(OutputStream out) throws IOException;
+    }
+
+    private WebAsyncTask<Void> task(String source, String filename, HttpServletResponse response, Render render) {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Callable<Void> job = () -> {
+            long start = System.nanoTime();
+            String result = "success";
+            response.setContentType("application/pdf");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+            try {
+                OutputStream out = new CancellableOutputStream(response.getOutputStream(), cancelled);
+                int pages = render.to(out);
+                out.flush();
+                meterRegistry.counter("export.pdf.pages", "source", source).increment(pages);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                result = "bad_request";
+                if (response.isCommitted()) {
+                    throw e;
+                }
+                response.reset();
+                response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            } catch (IOException e) {
+                // Usually the client went away mid-download, or the export timed out
+                result = cancelled.get() ? "cancelled" : "io_error";
+                log.debug("PDF export aborted: {}", e.getMessage());
+                throw e;
+            } finally {
+                Timer.builder("export.pdf")
+                        .tag("source", source)
+                        .tag("result", result)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            return null;
+        };
+        WebAsyncTask<Void> task = new WebAsyncTask<>(timeoutMillis, exportExecutor, job);
+        task.onTimeout(cancel(cancelled));
+        task.onError(cancel(cancelled));
+        return task;
+    }
+
+    // Flags the job and leaves the default timeout/error handling (e.g. 503) in place
+    @SuppressWarnings("unchecked")
+    private static <V> Callable<V> cancel(AtomicBoolean cancelled) {
+        return () -> {
+            cancelled.set(true);
+            return (V) CallableProcessingInterceptor.RESULT_NONE;
+        };
+    }
+
+    /** Fails every write once the export is cancelled or its thread interrupted. */
+    private static final class CancellableOutputStream extends FilterOutputStream {
+        private final AtomicBoolean cancelled;
+
+        CancellableOutputStream(OutputStream out, AtomicBoolean cancelled) {
+            super(out);
+            this.cancelled = cancelled;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            check();
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            check();
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            check();
+            out.flush();
+        }
+
+        private void check() throws IOException {
+            if (cancelled.get() || Thread.currentThread().isInterrupted()) {
+                throw new IOException("Export cancelled");
+            }
+        }
+    }
+}
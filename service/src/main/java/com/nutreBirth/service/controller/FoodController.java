@@ -0,0 +1,89 @@
+package com.nutreBirth.service.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nutreBirth.service.Service.FoodCatalog;
+import com.nutreBirth.service.Service.FoodSearchIndex;
+
+/**
+ * Micronutrient lookups by food name, resolved against {@link FoodCatalog}
+ * with the same normalization and aliases as the web app, falling back to
+ * the fuzzy {@link FoodSearchIndex} when there is no exact match.
+ */
+@RestController
+@RequestMapping("/foods")
+public class FoodController {
+
+    private final FoodCatalog foodCatalog;
+    private final FoodSearchIndex searchIndex;
+    private final int maxBatchSize;
+    private final int maxSearchLimit;
+    private final double minMatchScore;
+
+    public FoodController(
+            FoodCatalog foodCatalog,
+            FoodSearchIndex searchIndex,
+            @Value("${app.foods.max-batch-size:1000}") int maxBatchSize,
+            @Value("${app.foods.search.max-limit:20}") int maxSearchLimit,
+            @Value("${app.foods.search.min-match-score:0.45}") double minMatchScore) {
+        this.foodCatalog = foodCatalog;
+        this.searchIndex = searchIndex;
+        this.maxBatchSize = maxBatchSize;
+        this.maxSearchLimit = maxSearchLimit;
+        this.minMatchScore = minMatchScore;
+    }
+
+    /** Typeahead: best matches for a partial name. */
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (FoodSearchIndex.Match match : searchIndex.search(query, Math.min(limit, maxSearchLimit))) {
+            results.add(Map.of(
+                    "name", foodCatalog.name(match.row()),
+                    "score", Math.round(match.score() * 1000) / 1000.0));
+        }
+        return ResponseEntity.ok(Map.of("results", results));
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<?> food(@PathVariable String name) {
+        int row = resolve(name);
+        if (row < 0) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "Unknown food"));
+        }
+        return ResponseEntity.ok(foodCatalog.describe(row));
+    }
+
+    /** Results are aligned with the requested names; unknown names map to null. */
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookup(@RequestBody List<String> names) {
+        if (names.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Too many names (max " + maxBatchSize + ")"));
+        }
+        List<Map<String, Object>> results = new ArrayList<>(names.size());
+        for (String name : names) {
+            int row = resolve(name);
+            results.add(row < 0 ? null : foodCatalog.describe(row));
+        }
+        return ResponseEntity.ok(Map.of("results", results));
+    }
+
+    private int resolve(String name) {
+        return searchIndex.resolve(name, minMatchScore);
+    }
+}
@@ -26,19 +26,14 @@ public class MeController {
 
     @GetMapping("/me")
     public Map<String, Object> me(Authentication auth) {
-        log.debug("GET /me endpoint called");
-
         if (auth == null || auth.getName() == null) {
             log.warn("Unauthenticated access attempt to /me endpoint");
             throw new org.springframework.security.access.AccessDeniedException("Unauthenticated");
         }
 
-        log.debug("Authenticated user name: {}", auth.getName());
-
         UUID userId;
         try {
             userId = UUID.fromString(auth.getName());
-            log.debug("Successfully parsed userId: {}", userId);
         } catch (IllegalArgumentException ex) {
             log.error("Invalid user id format in authentication: {} - {}", auth.getName(), ex.getMessage());
             throw new org.springframework.security.access.AccessDeniedException("Invalid user id");
@@ -50,7 +45,7 @@ public class MeController {
                     return new org.springframework.security.access.AccessDeniedException("User not found");
                 });
 
-        log.info("User data retrieved successfully for: {} ({})", user.getEmail(), userId);
+        log.debug("User data retrieved for: {}", userId);
 
         return Map.of(
             "email", user.getEmail(),
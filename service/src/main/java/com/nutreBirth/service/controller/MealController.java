@@ -0,0 +1,59 @@
+package com.nutreBirth.service.controller;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nutreBirth.service.Service.MealLogService;
+import com.nutreBirth.service.dto.MealLogRequest;
+
+/**
+ * Upload of the browser's meal log. Offline clients send everything logged
+ * since their last sync in one call; meals already uploaded are reported
+ * back as duplicates instead of being stored twice.
+ */
+@RestController
+public class MealController {
+
+    private final MealLogService mealLogService;
+    private final int maxBatchItems;
+
+    public MealController(MealLogService mealLogService,
+            @Value("${app.meals.max-batch-items:5000}") int maxBatchItems) {
+        this.mealLogService = mealLogService;
+        this.maxBatchItems = maxBatchItems;
+    }
+
+    @PostMapping("/meals:batch")
+    public ResponseEntity<?> batch(@RequestBody List<MealLogRequest> meals, Principal principal) {
+        long items = meals.stream()
+                .mapToLong(meal -> meal == null || meal.getItems() == null ? 0 : meal.getItems().size())
+                .sum();
+        if (meals.size() + items > maxBatchItems) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Batch too large (max " + maxBatchItems + " meals and items)"));
+        }
+        try {
+            MealLogService.BatchResult result = mealLogService.ingest(UUID.fromString(principal.getName()), meals);
+            return ResponseEntity.ok(Map.of(
+                    "inserted", result.inserted(),
+                    "items", result.items(),
+                    "duplicates", result.duplicates()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // Another upload of the same meals committed first; a retry reports them as duplicates
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Meals were uploaded concurrently, retry the batch"));
+        }
+    }
+}
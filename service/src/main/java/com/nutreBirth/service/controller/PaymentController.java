@@ -1,13 +1,18 @@
 package com.nutreBirth.service.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseCookie;
@@ -20,26 +25,33 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.nutreBirth.service.Entity.User;
-import com.nutreBirth.service.Enum.PlanType;
 import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.Service.PaymentService;
+import com.nutreBirth.service.Service.RazorpayGateway;
 import com.nutreBirth.service.dto.AuthResponse;
 import com.nutreBirth.service.dto.RazorpayVerifyRequest;
 import com.nutreBirth.service.repo.UserRepository;
-import com.nutreBirth.service.utils.PaymentUtils;
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
+import com.nutreBirth.service.security.CustomUserDetailsService;
+import com.nutreBirth.service.utils.BoundedLruCache;
+import com.nutreBirth.service.utils.HmacSha256Verifier;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.razorpay.RazorpayException;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.json.JSONObject;
-
 @RestController
 @RequestMapping("/payment")
 public class PaymentController {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
 
+    private static final long ORDER_AMOUNT_PAISE = 19900; // ₹199 in paise
+    private static final String ORDER_CURRENCY = "INR";
+
     @Value("${razorpay.key-id}")
     private String keyId;
 
@@ -55,69 +67,203 @@ public class PaymentController {
     @Autowired
     private final JwtService jwtService;
 
+    private final CustomUserDetailsService userDetailsService;
+    private final RazorpayGateway razorpayGateway;
+    private final PaymentService paymentService;
+    private final MeterRegistry meterRegistry;
+    private final Counter signatureFailures;
+
+    private HmacSha256Verifier signatureVerifier;
+
+    // paymentId → outcome; bounded, and never outlives the JWT it holds
+    private BoundedLruCache<String, VerifiedPayment> verifiedPayments;
+
+    @Value("${razorpay.verify-replay-cache.max-size:10000}")
+    private int replayCacheMaxSize;
+
+    @Value("${razorpay.verify-replay-cache.ttl:PT1H}")
+    private Duration replayTtl;
+
     public PaymentController(UserRepository userRepository,
-            JwtService jwtService) {
+            JwtService jwtService,
+            CustomUserDetailsService userDetailsService,
+            RazorpayGateway razorpayGateway,
+            PaymentService paymentService,
+            MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.razorpayGateway = razorpayGateway;
+        this.paymentService = paymentService;
+        this.meterRegistry = meterRegistry;
+        this.signatureFailures = Counter.builder("payment.signature.failures")
+                .description("Payment signatures that did not match")
+                .tag("source", "verify")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        signatureVerifier = new HmacSha256Verifier(keySecret);
+        verifiedPayments = new BoundedLruCache<>(replayCacheMaxSize);
     }
 
     @PostMapping("/create-order")
-    public ResponseEntity<?> createOrder() {
-        log.info("POST /payment/create-order endpoint called");
+    public ResponseEntity<?> createOrder(Principal principal) {
+        log.debug("POST /payment/create-order endpoint called");
 
         try {
-            if (keyId == null || keyId.isBlank() || keyId.equals("rzp_test_xxxxx")) {
-                log.error("Razorpay key-id is not configured properly: {}", keyId);
-                return ResponseEntity
-                        .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(Map.of("error", "Payment gateway not configured"));
+            ResponseEntity<?> misconfigured = checkGatewayConfigured();
+            if (misconfigured != null) {
+                return misconfigured;
             }
 
-            if (keySecret == null || keySecret.isBlank() || keySecret.equals("xxxxx")) {
-                log.error("Razorpay key-secret is not configured properly");
-                return ResponseEntity
-                        .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(Map.of("error", "Payment gateway not configured"));
+            String receipt = newReceipt();
+            log.debug("Creating order with receipt: {}", receipt);
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            JsonNode order;
+            try {
+                order = razorpayGateway.createOrder(ORDER_AMOUNT_PAISE, ORDER_CURRENCY, receipt, orderNotes(principal));
+            } catch (RazorpayException ex) {
+                sample.stop(gatewayTimer("sync", ex));
+                throw ex;
             }
+            sample.stop(gatewayTimer("sync", null));
+            log.info("Razorpay order created successfully: {}", order.path("id").asText());
+            recordOrder(order, receipt, principal);
 
-            log.debug("Creating Razorpay client");
-            RazorpayClient client = new RazorpayClient(keyId, keySecret);
+            return ResponseEntity.ok(orderResponse(order));
 
-            // Generate receipt ID (max 40 chars for Razorpay)
-            // Use short prefix + first 32 chars of UUID = 35 total chars
-            String uuid = UUID.randomUUID().toString().replace("-", "");
-            String receipt = "nb_" + uuid.substring(0, 32);
-            log.debug("Creating order with receipt: {}", receipt);
+        } catch (RazorpayException ex) {
+            return gatewayError(ex);
+        } catch (Exception ex) {
+            log.error("Unexpected error while creating Razorpay order: {}", ex.getMessage(), ex);
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Failed to create order"));
+        }
+    }
 
-            JSONObject orderRequest = new JSONObject();
-            orderRequest.put("amount", 19900); // ₹199 in paise
-            orderRequest.put("currency", "INR");
-            orderRequest.put("receipt", receipt);
+    /**
+     * Same as /create-order, but the servlet thread is released while the
+     * gateway call is in flight (Servlet async + non-blocking HttpClient).
+     */
+    @PostMapping("/create-order-async")
+    public CompletableFuture<ResponseEntity<?>> createOrderAsync(Principal principal) {
+        log.debug("POST /payment/create-order-async endpoint called");
+
+        ResponseEntity<?> misconfigured = checkGatewayConfigured();
+        if (misconfigured != null) {
+            return CompletableFuture.completedFuture(misconfigured);
+        }
 
-            Order order = client.orders.create(orderRequest);
-            Object orderId = order.get("id");
-            log.info("Razorpay order created successfully: {}", orderId);
+        String receipt = newReceipt();
+        log.debug("Creating order asynchronously with receipt: {}", receipt);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        return razorpayGateway.createOrderAsync(ORDER_AMOUNT_PAISE, ORDER_CURRENCY, receipt, orderNotes(principal))
+                .whenComplete((order, ex) -> sample.stop(gatewayTimer("async",
+                        ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex)))
+                .<ResponseEntity<?>>thenApply(order -> {
+                    log.info("Razorpay order created successfully: {}", order.path("id").asText());
+                    recordOrder(order, receipt, principal);
+                    return ResponseEntity.ok(orderResponse(order));
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof RazorpayException rex) {
+                        return gatewayError(rex);
+                    }
+                    log.error("Unexpected error while creating Razorpay order: {}", cause.getMessage(), cause);
+                    return ResponseEntity
+                            .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                            .body(Map.of("error", "Failed to create order"));
+                });
+    }
 
-            // Build response map with explicit handling of mixed types
-            Map<String, Object> response = new java.util.HashMap<>();
-            response.put("orderId", order.get("id"));
-            response.put("amount", order.get("amount"));
-            response.put("currency", order.get("currency"));
-            response.put("key", keyId);
+    /**
+     * Razorpay create-order latency; busy = rejected by our own concurrency limit.
+     */
+    private Timer gatewayTimer(String mode, Throwable failure) {
+        String result = failure == null ? "ok"
+                : failure instanceof RazorpayGateway.GatewayBusyException ? "busy" : "error";
+        return Timer.builder("payment.gateway.requests")
+                .description("Razorpay create-order calls")
+                .tag("operation", "create_order")
+                .tag("mode", mode)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
 
-            return ResponseEntity.ok(response);
+    private ResponseEntity<?> checkGatewayConfigured() {
+        if (keyId == null || keyId.isBlank() || keyId.equals("rzp_test_xxxxx")) {
+            log.error("Razorpay key-id is not configured properly: {}", keyId);
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Payment gateway not configured"));
+        }
 
-        } catch (RazorpayException ex) {
-            log.error("Razorpay API error while creating order: {}", ex.getMessage(), ex);
+        if (keySecret == null || keySecret.isBlank() || keySecret.equals("xxxxx")) {
+            log.error("Razorpay key-secret is not configured properly");
             return ResponseEntity
-                    .status(HttpStatus.BAD_GATEWAY)
-                    .body(Map.of("error", "Payment gateway error: " + ex.getMessage()));
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "Payment gateway not configured"));
+        }
+        return null;
+    }
+
+    private static String newReceipt() {
+        // Generate receipt ID (max 40 chars for Razorpay)
+        // Use short prefix + first 32 chars of UUID = 35 total chars
+        String uuid = UUID.randomUUID().toString().replace("-", "");
+        return "nb_" + uuid.substring(0, 32);
+    }
+
+    /**
+     * Razorpay echoes order notes in webhook payloads; user_id lets the
+     * webhook pipeline upgrade the right account without a browser callback.
+     */
+    private static Map<String, String> orderNotes(Principal principal) {
+        return principal == null || principal.getName() == null
+                ? Map.of()
+                : Map.of("user_id", principal.getName());
+    }
+
+    /**
+     * Best effort: the order already exists at Razorpay, so a failed insert
+     * must not fail the checkout. Verify still works without the row.
+     */
+    private void recordOrder(JsonNode order, String receipt, Principal principal) {
+        try {
+            UUID userId = UUID.fromString(principal.getName());
+            paymentService.recordOrder(order.path("id").asText(), receipt, userId,
+                    order.path("amount").asLong(ORDER_AMOUNT_PAISE), order.path("currency").asText(ORDER_CURRENCY));
         } catch (Exception ex) {
-            log.error("Unexpected error while creating Razorpay order: {}", ex.getMessage(), ex);
+            log.warn("Could not record Razorpay order {}: {}", order.path("id").asText(), ex.getMessage());
+        }
+    }
+
+    private Map<String, Object> orderResponse(JsonNode order) {
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("orderId", order.path("id").asText());
+        response.put("amount", order.path("amount").asLong());
+        response.put("currency", order.path("currency").asText());
+        response.put("key", keyId);
+        return response;
+    }
+
+    private ResponseEntity<?> gatewayError(RazorpayException ex) {
+        if (ex instanceof RazorpayGateway.GatewayBusyException) {
+            log.warn("Razorpay concurrency limit reached, rejecting create-order");
             return ResponseEntity
-                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "Failed to create order"));
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", ex.getMessage()));
         }
+        log.error("Razorpay API error while creating order: {}", ex.getMessage(), ex);
+        return ResponseEntity
+                .status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", "Payment gateway error: " + ex.getMessage()));
     }
 
     @PostMapping("/verify")
@@ -125,13 +271,9 @@ public class PaymentController {
             @RequestBody RazorpayVerifyRequest req,
             Principal principal,
             HttpServletResponse response) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
         try {
-            log.debug("Payment verify called for principal: {}", principal == null ? "<anonymous>" : principal.getName());
-            log.debug("Incoming verify payload: paymentId='{}', orderId='{}', signature='{}'",
-                req == null ? null : req.getRazorpayPaymentId(),
-                req == null ? null : req.getRazorpayOrderId(),
-                req == null ? null : req.getRazorpaySignature());
-
             if (req == null || req.getRazorpayPaymentId() == null || req.getRazorpayOrderId() == null || req.getRazorpaySignature() == null) {
             log.warn("Missing fields in payment verification request");
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing payment verification fields");
@@ -142,7 +284,6 @@ public class PaymentController {
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Not authenticated");
             }
 
-            // Load user entity from repository using principal name (userId)
             String userIdStr = principal.getName();
             UUID userId;
             try {
@@ -152,49 +293,96 @@ public class PaymentController {
                 throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid user id");
             }
 
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
-            // 1️⃣ Verify Razorpay signature
-            String payload = req.getRazorpayOrderId() + "|" + req.getRazorpayPaymentId();
-
-            String expectedSignature = PaymentUtils.hmacSha256(payload, keySecret);
-            log.debug("Expected signature computed: {}", expectedSignature);
+            // 0️⃣ Fast replay: identical retry of a verify we already answered
+            VerifiedPayment replay = verifiedPayments.get(req.getRazorpayPaymentId());
+            if (replay != null && replay.matches(userId, req)) {
+                log.debug("Replaying cached verify outcome for payment: {}", req.getRazorpayPaymentId());
+                response.addHeader(HttpHeaders.SET_COOKIE, authCookie(replay.jwt()).toString());
+                result = "replay";
+                return ResponseEntity.ok(replay.response());
+            }
 
-            if (!expectedSignature.equals(req.getRazorpaySignature())) {
-                log.error("Invalid payment signature for user id: {} (expected='{}' got='{}')",
-                        user.getId(), expectedSignature, req.getRazorpaySignature());
+            // 1️⃣ Verify Razorpay signature
+            if (!signatureVerifier.verify(
+                    req.getRazorpayOrderId(), req.getRazorpayPaymentId(), req.getRazorpaySignature())) {
+                log.error("Invalid payment signature for user id: {} (orderId='{}')",
+                        userId, req.getRazorpayOrderId());
+                signatureFailures.increment();
+                result = "invalid_signature";
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid payment signature");
             }
 
-            // 2️⃣ Upgrade user
-            user.setPlan(PlanType.PREMIUM);
-            userRepository.save(user);
-            log.debug("User plan upgraded to PREMIUM for user id: {}", user.getId());
+            // 2️⃣ Record payment + upgrade user (conditional UPDATE, no-op on retries)
+            try {
+                boolean recorded = paymentService.recordVerifiedPayment(
+                        userId, req.getRazorpayOrderId(), req.getRazorpayPaymentId());
+                log.debug("Payment {} for user id {}: {}", req.getRazorpayPaymentId(), userId,
+                        recorded ? "recorded, plan upgraded" : "already recorded");
+            } catch (DataIntegrityViolationException ex) {
+                // A concurrent verify for the same payment won the insert
+                paymentService.requireOwnedBy(req.getRazorpayPaymentId(), userId);
+            }
+            userDetailsService.evict(userId.toString());
+
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
 
             // 3️⃣ Generate JWT
             String jwt = jwtService.generate(user);
 
             // 4️⃣ Set HTTP-only cookie
-                ResponseCookie cookie = ResponseCookie.from(cookieName, jwt)
-                    .httpOnly(true)
-                    .secure(false) // true in production (HTTPS)
-                    .sameSite("Lax")
-                    .path("/")
-                    .maxAge(Duration.ofDays(7))
-                    .build();
-
-            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            response.addHeader(HttpHeaders.SET_COOKIE, authCookie(jwt).toString());
 
             // 5️⃣ Return response (frontend ignores token)
+            AuthResponse body = new AuthResponse(jwt, user);
+            verifiedPayments.put(req.getRazorpayPaymentId(),
+                    new VerifiedPayment(userId, req.getRazorpayOrderId(), req.getRazorpaySignature(), jwt, body),
+                    System.currentTimeMillis() + replayTtl.toMillis());
             log.debug("Returning AuthResponse for user id: {}", user.getId());
-            return ResponseEntity.ok(new AuthResponse(jwt, user));
+            result = "ok";
+            return ResponseEntity.ok(body);
 
+        } catch (ResponseStatusException e) {
+            if (result.equals("error")) {
+                result = "rejected";
+            }
+            throw e;
         } catch (Exception e) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
                     "Payment verification failed",
                     e);
+        } finally {
+            sample.stop(Timer.builder("payment.verify")
+                    .description("POST /payment/verify end to end")
+                    .tag("result", result)
+                    .register(meterRegistry));
         }
     }
 
+    private ResponseCookie authCookie(String jwt) {
+        return ResponseCookie.from(cookieName, jwt)
+                .httpOnly(true)
+                .secure(false) // true in production (HTTPS)
+                .sameSite("Lax")
+                .path("/")
+                .maxAge(Duration.ofDays(7))
+                .build();
+    }
+
+    /**
+     * Outcome of a successful verify, replayed for identical retries.
+     */
+    private record VerifiedPayment(UUID userId, String orderId, String signature, String jwt,
+            AuthResponse response) {
+
+        boolean matches(UUID userId, RazorpayVerifyRequest req) {
+            // Constant-time like HmacSha256Verifier, since a match hands back a session
+            return req.getRazorpaySignature() != null
+                    && this.userId.equals(userId)
+                    && orderId.equals(req.getRazorpayOrderId())
+                    && MessageDigest.isEqual(signature.getBytes(StandardCharsets.US_ASCII),
+                            req.getRazorpaySignature().getBytes(StandardCharsets.US_ASCII));
+        }
+    }
 }
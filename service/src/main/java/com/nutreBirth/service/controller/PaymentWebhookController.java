@@ -0,0 +1,158 @@
+package com.nutreBirth.service.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Entity.PaymentWebhookEvent;
+import com.nutreBirth.service.repo.PaymentWebhookEventRepository;
+import com.nutreBirth.service.utils.HmacSha256Verifier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Razorpay webhook receiver. It only verifies and enqueues; plan upgrades
+ * happen in PaymentWebhookProcessor so this endpoint stays fast and a
+ * burst of deliveries never competes with login traffic for the DB.
+ */
+@RestController
+@RequestMapping("/payment")
+public class PaymentWebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookController.class);
+
+    // Events that mean money was captured for an order we created
+    private static final Set<String> UPGRADE_EVENTS = Set.of("payment.captured", "order.paid");
+
+    private final PaymentWebhookEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final Counter signatureFailures;
+
+    @Value("${razorpay.webhook-secret:}")
+    private String webhookSecret;
+
+    private HmacSha256Verifier signatureVerifier;
+
+    public PaymentWebhookController(PaymentWebhookEventRepository eventRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.signatureFailures = Counter.builder("payment.signature.failures")
+                .description("Payment signatures that did not match")
+                .tag("source", "webhook")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        if (webhookSecret != null && !webhookSecret.isBlank()) {
+            signatureVerifier = new HmacSha256Verifier(webhookSecret);
+        }
+    }
+
+    @PostMapping("/webhook")
+    public ResponseEntity<?> receive(
+            @RequestBody byte[] body,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+
+        if (signatureVerifier == null) {
+            log.error("Razorpay webhook received but razorpay.webhook-secret is not configured");
+            return ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Webhook not configured"));
+        }
+
+        if (!signatureVerifier.verify(body, signature)) {
+            log.warn("Rejected Razorpay webhook with invalid signature (eventId={})", eventId);
+            signatureFailures.increment();
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Invalid webhook signature"));
+        }
+
+        JsonNode json;
+        try {
+            json = objectMapper.readTree(body);
+        } catch (java.io.IOException e) {
+            log.warn("Rejected Razorpay webhook with unreadable body: {}", e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Malformed webhook payload"));
+        }
+
+        String eventType = json.path("event").asText("");
+        if (!UPGRADE_EVENTS.contains(eventType)) {
+            log.debug("Ignoring Razorpay webhook event: {}", eventType);
+            return ResponseEntity.ok(Map.of("status", "ignored"));
+        }
+
+        JsonNode payment = json.path("payload").path("payment").path("entity");
+        JsonNode order = json.path("payload").path("order").path("entity");
+
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setEventId(eventId != null && !eventId.isBlank() ? eventId : "sha256:" + sha256Hex(body));
+        event.setEventType(eventType);
+        event.setPaymentId(textOrNull(payment.path("id")));
+        String orderId = textOrNull(payment.path("order_id"));
+        event.setOrderId(orderId != null ? orderId : textOrNull(order.path("id")));
+        // Checkout notes usually land on the payment; createOrder also puts them on the order
+        UUID userId = parseUserId(payment.path("notes").path("user_id"));
+        event.setUserId(userId != null ? userId : parseUserId(order.path("notes").path("user_id")));
+        event.setPayload(new String(body, StandardCharsets.UTF_8));
+
+        try {
+            eventRepository.saveAndFlush(event);
+        } catch (DataIntegrityViolationException e) {
+            // Razorpay redelivers until it sees a 2xx; the first copy is already queued
+            log.debug("Duplicate Razorpay webhook delivery ignored: {}", event.getEventId());
+            return ResponseEntity.ok(Map.of("status", "duplicate"));
+        }
+
+        log.info("Queued Razorpay webhook {} ({}) for payment {}", event.getEventId(), eventType, event.getPaymentId());
+        return ResponseEntity.ok(Map.of("status", "queued"));
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node.isTextual() && !node.asText().isBlank() ? node.asText() : null;
+    }
+
+    private static UUID parseUserId(JsonNode node) {
+        String value = textOrNull(node);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String sha256Hex(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.nutreBirth.service.controller;
+
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nutreBirth.service.Enum.PlanDetail;
+import com.nutreBirth.service.Service.PlanStore;
+
+/**
+ * Diet plans with precomputed meal and plan totals. Bodies are serialized
+ * once by {@link PlanStore}; clients revalidate with If-None-Match and get
+ * a 304 while the plans are unchanged.
+ *
+ * /plans serves summaries to any signed-in user. /plans/full carries the
+ * food items and is restricted to ROLE_PREMIUM in SecurityConfig; in claims
+ * auth mode that role comes from the JWT plan claim, so no DB read happens.
+ */
+@RestController
+@RequestMapping("/plans")
+public class PlanController {
+
+    // Responses are per-user entitlements; keep them out of shared caches
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final PlanStore planStore;
+
+    public PlanController(PlanStore planStore) {
+        this.planStore = planStore;
+    }
+
+    /**
+     * Without {@code calories}: {"plans": [...]}, optionally of one type.
+     * With {@code calories}: the single plan closest to it, as the dashboard
+     * picks the recommended plan.
+     */
+    @GetMapping
+    public ResponseEntity<?> plans(
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "calories", required = false) Integer calories) {
+        return serve(type, calories, PlanDetail.SUMMARY);
+    }
+
+    /** Same selection as {@link #plans}, with every meal's items. Premium only. */
+    @GetMapping("/full")
+    public ResponseEntity<?> fullPlans(
+            @RequestParam(name = "type", required = false) String type,
+            @RequestParam(name = "calories", required = false) Integer calories) {
+        return serve(type, calories, PlanDetail.FULL);
+    }
+
+    private ResponseEntity<?> serve(String type, Integer calories, PlanDetail detail) {
+        PlanStore.Cached response;
+        if (calories == null) {
+            response = planStore.list(type, detail);
+        } else {
+            int index = planStore.closest(type, calories);
+            if (index < 0) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "No plan for type"));
+            }
+            response = planStore.plan(index, detail);
+        }
+        // ResponseEntity handling turns a matching If-None-Match into a 304
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+}
@@ -0,0 +1,104 @@
+package com.nutreBirth.service.controller;
+
+import java.security.Principal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nutreBirth.service.Entity.DailyRollup;
+import com.nutreBirth.service.Enum.Nutrient;
+import com.nutreBirth.service.Service.DailyRollupService;
+
+/**
+ * Logged totals per day for the dashboard's progress cards, read from the
+ * daily rollups only. Days without meals are left out.
+ */
+@RestController
+public class ProgressController {
+
+    private final DailyRollupService rollupService;
+    private final int maxDays;
+
+    public ProgressController(DailyRollupService rollupService,
+            @Value("${app.progress.max-days:366}") int maxDays) {
+        this.rollupService = rollupService;
+        this.maxDays = maxDays;
+    }
+
+    /** Inclusive range; defaults to the last 7 days. */
+    @GetMapping("/progress")
+    public ResponseEntity<?> progress(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Principal principal) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(6);
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "from must not be after to"));
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= maxDays) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Range too long (max " + maxDays + " days)"));
+        }
+
+        List<Map<String, Object>> days = new ArrayList<>();
+        double[] micros = new double[Nutrient.values().length];
+        double calories = 0, protein = 0, carbs = 0, fat = 0;
+        int meals = 0;
+        for (DailyRollup row : rollupService.range(UUID.fromString(principal.getName()), start, end)) {
+            Map<String, Object> day = totals(row.getMealCount(), row.getCalories(), row.getProtein(),
+                    row.getCarbs(), row.getFat(), row.getMicros());
+            day.put("date", row.getLogDate().toString());
+            day.put("items", row.getItemCount());
+            days.add(day);
+            meals += row.getMealCount();
+            calories += row.getCalories();
+            protein += row.getProtein();
+            carbs += row.getCarbs();
+            fat += row.getFat();
+            for (int i = 0; i < micros.length; i++) {
+                micros[i] += row.getMicros()[i];
+            }
+        }
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("from", start.toString());
+        body.put("to", end.toString());
+        body.put("days", days);
+        body.put("total", totals(meals, calories, protein, carbs, fat, micros));
+        return ResponseEntity.ok(body);
+    }
+
+    private static Map<String, Object> totals(int meals, double calories, double protein, double carbs, double fat,
+            double[] micros) {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("meals", meals);
+        totals.put("calories", round(calories));
+        totals.put("protein", round(protein));
+        totals.put("carbs", round(carbs));
+        totals.put("fat", round(fat));
+        Map<String, Object> microTotals = new LinkedHashMap<>();
+        for (Nutrient nutrient : Nutrient.values()) {
+            double value = round(micros[nutrient.ordinal()]);
+            if (value > 0) {
+                microTotals.put(nutrient.getField(), value);
+            }
+        }
+        totals.put("micros", microTotals);
+        return totals;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,168 @@
+package com.nutreBirth.service.controller;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Entity.Meal;
+import com.nutreBirth.service.Entity.MealItem;
+import com.nutreBirth.service.Entity.Profile;
+import com.nutreBirth.service.Service.SyncService;
+import com.nutreBirth.service.dto.SyncChange;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Delta sync for the web app's local meal log and profile.
+ *
+ * GET /sync?since=N returns what changed after cursor N (0 for a first
+ * sync) plus the cursor to send next time; while {@code hasMore} is true
+ * the client keeps pulling. POST /sync pushes local changes. The pull
+ * response is written field by field as JSON, with empty fields left out.
+ */
+@RestController
+@RequestMapping("/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final ObjectMapper objectMapper;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    private final int maxChanges;
+
+    public SyncController(SyncService syncService, ObjectMapper objectMapper,
+            @Value("${app.sync.page-size:500}") int defaultPageSize,
+            @Value("${app.sync.max-page-size:5000}") int maxPageSize,
+            @Value("${app.sync.max-changes:2000}") int maxChanges) {
+        this.syncService = syncService;
+        this.objectMapper = objectMapper;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.maxChanges = maxChanges;
+    }
+
+    @GetMapping
+    public void pull(@RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            Principal principal, HttpServletResponse response) throws IOException {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        int pageSize = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        SyncService.ChangePage page = syncService.changesSince(UUID.fromString(principal.getName()), since, pageSize);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Cache-Control", "no-store");
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.writeStartObject();
+            json.writeNumberField("cursor", page.cursor());
+            json.writeBooleanField("hasMore", page.hasMore());
+            if (page.reset()) {
+                json.writeBooleanField("reset", true);
+            }
+            json.writeArrayFieldStart("changes");
+            if (page.profile() != null) {
+                writeProfile(json, page.profile());
+            }
+            for (Meal meal : page.meals()) {
+                writeMeal(json, meal);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> push(@RequestBody List<SyncChange> changes, Principal principal) {
+        if (changes.size() > maxChanges) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Too many changes (max " + maxChanges + ")"));
+        }
+        try {
+            SyncService.ApplyResult result = syncService.apply(UUID.fromString(principal.getName()), changes);
+            return ResponseEntity.ok(Map.of("applied", result.applied(), "stale", result.stale()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // Another device pushed the same new meal first; retrying resolves it by updatedAt
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Changes were pushed concurrently, retry"));
+        }
+    }
+
+    private static void writeMeal(JsonGenerator json, Meal meal) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", SyncService.MEAL);
+        json.writeStringField("id", meal.getClientId());
+        json.writeNumberField("v", meal.getVersion());
+        json.writeNumberField("updatedAt", meal.getUpdatedAt());
+        if (meal.isDeleted()) {
+            json.writeBooleanField("deleted", true);
+        } else {
+            json.writeStringField("date", meal.getLogDate().toString());
+            json.writeArrayFieldStart("items");
+            for (MealItem item : meal.getItems()) {
+                json.writeStartObject();
+                json.writeStringField("foodId", item.getFoodId());
+                if (item.getName() != null) {
+                    json.writeStringField("name", item.getName());
+                }
+                json.writeNumberField("grams", item.getGrams());
+                writeOptional(json, "calories", item.getCalories());
+                writeOptional(json, "protein", item.getProtein());
+                writeOptional(json, "carbs", item.getCarbs());
+                writeOptional(json, "fat", item.getFat());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeProfile(JsonGenerator json, Profile profile) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", SyncService.PROFILE);
+        json.writeNumberField("v", profile.getVersion());
+        json.writeNumberField("updatedAt", profile.getUpdatedAt());
+        writeOptional(json, "heightCm", profile.getHeightCm());
+        writeOptional(json, "weightKg", profile.getWeightKg());
+        if (profile.getAge() != null) {
+            json.writeNumberField("age", profile.getAge());
+        }
+        if (profile.getSex() != null) {
+            json.writeObjectField("sex", profile.getSex());
+        }
+        if (profile.getActivityLevel() != null) {
+            json.writeObjectField("activityLevel", profile.getActivityLevel());
+        }
+        writeOptional(json, "calorieTarget", profile.getCalorieTarget());
+        writeOptional(json, "proteinTargetG", profile.getProteinTargetG());
+        if (profile.getDietType() != null) {
+            json.writeStringField("dietType", profile.getDietType());
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeOptional(JsonGenerator json, String field, Double value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(field, value);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.nutreBirth.service.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.nutreBirth.service.Service.NutritionTargetService;
+import com.nutreBirth.service.dto.TargetRequest;
+import com.nutreBirth.service.dto.TargetResponse;
+
+/**
+ * BMR / TDEE / protein targets, computed the same way as the web app's
+ * calcTargets.ts. The batch endpoint lets dashboards compute many profiles
+ * in one round trip.
+ */
+@RestController
+@RequestMapping("/targets")
+public class TargetController {
+
+    private final NutritionTargetService targetService;
+    private final int maxBatchSize;
+
+    public TargetController(
+            NutritionTargetService targetService,
+            @Value("${app.targets.max-batch-size:10000}") int maxBatchSize) {
+        this.targetService = targetService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> compute(@RequestBody TargetRequest request) {
+        TargetResponse response = targetService.compute(request);
+        if (response.getError() != null) {
+            return ResponseEntity.badRequest().body(Map.of("error", response.getError()));
+        }
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> computeBatch(@RequestBody List<TargetRequest> requests) {
+        if (requests.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Batch too large (max " + maxBatchSize + " profiles)"));
+        }
+        return ResponseEntity.ok(Map.of("results", targetService.computeAll(requests)));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nutreBirth.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One logged item with its meal's date and client id, as read for
+ * /export/history. mealKey and itemId are the row ids, used as the keyset
+ * position for the next page.
+ */
+public record HistoryRow(LocalDate date, String mealId, String foodId, String name, double grams,
+        Double calories, Double protein, Double carbs, Double fat, long mealKey, long itemId) {
+}
@@ -0,0 +1,105 @@
+package com.nutreBirth.service.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One meal from the web app's Dexie "meals" table: the browser's id, the
+ * day it was logged (YYYY-MM-DD) and its {foodId, grams} items. Item name
+ * and macros are optional.
+ */
+public class MealLogRequest {
+    private String id;
+    private LocalDate date;
+    private List<Item> items;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+        private String foodId;
+        private String name;
+        private double grams;
+        private Double calories;
+        private Double protein;
+        private Double carbs;
+        private Double fat;
+
+        public String getFoodId() {
+            return foodId;
+        }
+
+        public void setFoodId(String foodId) {
+            this.foodId = foodId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public double getGrams() {
+            return grams;
+        }
+
+        public void setGrams(double grams) {
+            this.grams = grams;
+        }
+
+        public Double getCalories() {
+            return calories;
+        }
+
+        public void setCalories(Double calories) {
+            this.calories = calories;
+        }
+
+        public Double getProtein() {
+            return protein;
+        }
+
+        public void setProtein(Double protein) {
+            this.protein = protein;
+        }
+
+        public Double getCarbs() {
+            return carbs;
+        }
+
+        public void setCarbs(Double carbs) {
+            this.carbs = carbs;
+        }
+
+        public Double getFat() {
+            return fat;
+        }
+
+        public void setFat(Double fat) {
+            this.fat = fat;
+        }
+    }
+}
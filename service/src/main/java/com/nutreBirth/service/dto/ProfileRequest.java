@@ -0,0 +1,80 @@
+package com.nutreBirth.service.dto;
+
+import com.nutreBirth.service.Enum.ActivityLevel;
+import com.nutreBirth.service.Enum.Sex;
+
+/** The web app's UserProfile, as carried in a profile sync change. */
+public class ProfileRequest {
+    private Double heightCm;
+    private Double weightKg;
+    private Integer age;
+    private Sex sex;
+    private ActivityLevel activityLevel;
+    private Double calorieTarget;
+    private Double proteinTargetG;
+    private String dietType;
+
+    public Double getHeightCm() {
+        return heightCm;
+    }
+
+    public void setHeightCm(Double heightCm) {
+        this.heightCm = heightCm;
+    }
+
+    public Double getWeightKg() {
+        return weightKg;
+    }
+
+    public void setWeightKg(Double weightKg) {
+        this.weightKg = weightKg;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Sex getSex() {
+        return sex;
+    }
+
+    public void setSex(Sex sex) {
+        this.sex = sex;
+    }
+
+    public ActivityLevel getActivityLevel() {
+        return activityLevel;
+    }
+
+    public void setActivityLevel(ActivityLevel activityLevel) {
+        this.activityLevel = activityLevel;
+    }
+
+    public Double getCalorieTarget() {
+        return calorieTarget;
+    }
+
+    public void setCalorieTarget(Double calorieTarget) {
+        this.calorieTarget = calorieTarget;
+    }
+
+    public Double getProteinTargetG() {
+        return proteinTargetG;
+    }
+
+    public void setProteinTargetG(Double proteinTargetG) {
+        this.proteinTargetG = proteinTargetG;
+    }
+
+    public String getDietType() {
+        return dietType;
+    }
+
+    public void setDietType(String dietType) {
+        this.dietType = dietType;
+    }
+}
@@ -0,0 +1,58 @@
+package com.nutreBirth.service.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One client-side change pushed to POST /sync. {@code type} is "meal" or
+ * "profile"; {@code id} is the meal's client id (ignored for the profile);
+ * {@code updatedAt} is the client's edit time in epoch milliseconds and
+ * decides conflicts (last writer wins). {@code data} is a MealLogRequest
+ * or a ProfileRequest, and may be omitted for deletes.
+ */
+public class SyncChange {
+    private String type;
+    private String id;
+    private long updatedAt;
+    private boolean deleted;
+    private JsonNode data;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public void setData(JsonNode data) {
+        this.data = data;
+    }
+}
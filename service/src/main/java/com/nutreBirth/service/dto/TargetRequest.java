@@ -0,0 +1,67 @@
+package com.nutreBirth.service.dto;
+
+import com.nutreBirth.service.Enum.ActivityLevel;
+import com.nutreBirth.service.Enum.Goal;
+import com.nutreBirth.service.Enum.Sex;
+
+/**
+ * One profile to compute targets for. Field names follow the web app's
+ * UserProfile; age, sex, activityLevel and goal are optional and default
+ * the same way calcTargets.ts does.
+ */
+public class TargetRequest {
+    private double weightKg;
+    private double heightCm;
+    private Integer age;
+    private Sex sex;
+    private ActivityLevel activityLevel;
+    private Goal goal;
+
+    public double getWeightKg() {
+        return weightKg;
+    }
+
+    public void setWeightKg(double weightKg) {
+        this.weightKg = weightKg;
+    }
+
+    public double getHeightCm() {
+        return heightCm;
+    }
+
+    public void setHeightCm(double heightCm) {
+        this.heightCm = heightCm;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Sex getSex() {
+        return sex;
+    }
+
+    public void setSex(Sex sex) {
+        this.sex = sex;
+    }
+
+    public ActivityLevel getActivityLevel() {
+        return activityLevel;
+    }
+
+    public void setActivityLevel(ActivityLevel activityLevel) {
+        this.activityLevel = activityLevel;
+    }
+
+    public Goal getGoal() {
+        return goal;
+    }
+
+    public void setGoal(Goal goal) {
+        this.goal = goal;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nutreBirth.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Targets for one profile. In a batch, an invalid profile gets a response
+ * with only {@code error} set, so results stay aligned with the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TargetResponse {
+    private final Double bmr;
+    private final Long tdee;
+    private final Long proteinG;
+    private final String error;
+
+    private TargetResponse(Double bmr, Long tdee, Long proteinG, String error) {
+        this.bmr = bmr;
+        this.tdee = tdee;
+        this.proteinG = proteinG;
+        this.error = error;
+    }
+
+    public static TargetResponse of(double bmr, long tdee, long proteinG) {
+        return new TargetResponse(bmr, tdee, proteinG, null);
+    }
+
+    public static TargetResponse error(String error) {
+        return new TargetResponse(null, null, null, error);
+    }
+
+    public Double getBmr() {
+        return bmr;
+    }
+
+    public Long getTdee() {
+        return tdee;
+    }
+
+    public Long getProteinG() {
+        return proteinG;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,24 @@
+package com.nutreBirth.service.repo;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.DailyRollup;
+
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, Long> {
+
+    List<DailyRollup> findByUserIdAndLogDateIn(UUID userId, Collection<LocalDate> days);
+
+    List<DailyRollup> findByUserIdAndLogDateBetweenOrderByLogDate(UUID userId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("delete from DailyRollup r where r.userId = :userId")
+    int deleteByUser(@Param("userId") UUID userId);
+}
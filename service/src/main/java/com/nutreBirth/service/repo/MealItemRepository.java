@@ -0,0 +1,35 @@
+package com.nutreBirth.service.repo;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nutreBirth.service.Entity.MealItem;
+import com.nutreBirth.service.dto.HistoryRow;
+
+public interface MealItemRepository extends JpaRepository<MealItem, Long> {
+
+    /**
+     * One page of the user's logged items in (date, meal, item) order,
+     * starting after the given position; pass (from, 0, 0) for the first
+     * page. Rows are projections, not entities, and each page is read in
+     * its own short transaction.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.nutreBirth.service.dto.HistoryRow(m.logDate, m.clientId, i.foodId, i.name, i.grams, "
+            + "i.calories, i.protein, i.carbs, i.fat, m.id, i.id) "
+            + "from MealItem i join i.meal m "
+            + "where m.userId = :userId and m.deleted = false and m.logDate between :from and :to "
+            + "and (m.logDate > :afterDate or (m.logDate = :afterDate and (m.id > :afterMeal "
+            + "or (m.id = :afterMeal and i.id > :afterItem)))) "
+            + "order by m.logDate, m.id, i.id")
+    List<HistoryRow> findHistoryPage(@Param("userId") UUID userId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to, @Param("afterDate") LocalDate afterDate, @Param("afterMeal") long afterMeal,
+            @Param("afterItem") long afterItem, Pageable pageable);
+}
@@ -0,0 +1,38 @@
+package com.nutreBirth.service.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.Meal;
+
+public interface MealRepository extends JpaRepository<Meal, Long> {
+
+    @Query("select m.clientId from Meal m where m.userId = :userId and m.clientId in :clientIds")
+    Set<String> findExistingClientIds(@Param("userId") UUID userId, @Param("clientIds") Collection<String> clientIds);
+
+    long countByUserId(UUID userId);
+
+    @Query("select m.id from Meal m where m.userId = :userId and m.version > :since order by m.version")
+    List<Long> findChangedIds(@Param("userId") UUID userId, @Param("since") long since, Pageable pageable);
+
+    @Query("select distinct m from Meal m left join fetch m.items where m.id in :ids order by m.version")
+    List<Meal> findWithItems(@Param("ids") Collection<Long> ids);
+
+    @Query("select m.id from Meal m where m.userId = :userId and m.deleted = false and m.id > :afterId order by m.id")
+    List<Long> findLiveIds(@Param("userId") UUID userId, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("select distinct m.userId from Meal m")
+    List<UUID> findUserIds();
+
+    @Query("select distinct m from Meal m left join fetch m.items "
+            + "where m.userId = :userId and m.clientId in :clientIds")
+    List<Meal> findWithItemsByClientIds(@Param("userId") UUID userId,
+            @Param("clientIds") Collection<String> clientIds);
+}
@@ -0,0 +1,24 @@
+package com.nutreBirth.service.repo;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.PaymentOrder;
+
+public interface PaymentOrderRepository extends JpaRepository<PaymentOrder, Long> {
+    Optional<PaymentOrder> findByRazorpayOrderId(String razorpayOrderId);
+
+    List<PaymentOrder> findByRazorpayOrderIdIn(Collection<String> razorpayOrderIds);
+
+    @Modifying
+    @Query("update PaymentOrder o set o.status = com.nutreBirth.service.Enum.OrderStatus.PAID, o.paidAt = :paidAt "
+            + "where o.razorpayOrderId = :orderId and o.status <> com.nutreBirth.service.Enum.OrderStatus.PAID")
+    int markPaid(@Param("orderId") String razorpayOrderId, @Param("paidAt") Instant paidAt);
+}
@@ -0,0 +1,18 @@
+package com.nutreBirth.service.repo;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.Payment;
+
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+    Optional<Payment> findByRazorpayPaymentId(String razorpayPaymentId);
+
+    @Query("select p.razorpayPaymentId from Payment p where p.razorpayPaymentId in :paymentIds")
+    Set<String> findExistingPaymentIds(@Param("paymentIds") Collection<String> paymentIds);
+}
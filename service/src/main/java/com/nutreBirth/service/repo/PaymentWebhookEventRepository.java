@@ -0,0 +1,22 @@
+package com.nutreBirth.service.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.PaymentWebhookEvent;
+import com.nutreBirth.service.Enum.WebhookEventStatus;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    List<PaymentWebhookEvent> findByStatusOrderByIdAsc(WebhookEventStatus status, Pageable pageable);
+
+    @Query("select e.paymentId from PaymentWebhookEvent e "
+            + "where e.status = com.nutreBirth.service.Enum.WebhookEventStatus.APPLIED and e.paymentId in :paymentIds")
+    Set<String> findAppliedPaymentIds(@Param("paymentIds") Collection<String> paymentIds);
+}
@@ -0,0 +1,10 @@
+package com.nutreBirth.service.repo;
+
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.nutreBirth.service.Entity.Profile;
+
+public interface ProfileRepository extends JpaRepository<Profile, UUID> {
+}
@@ -1,12 +1,25 @@
 package com.nutreBirth.service.repo;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+
+    /**
+     * Sets the plan for all given users in one statement; rows already on
+     * that plan are left untouched, so replays are no-ops.
+     */
+    @Modifying
+    @Query("update User u set u.plan = :plan where u.id in :ids and u.plan <> :plan")
+    int updatePlan(@Param("ids") Collection<UUID> ids, @Param("plan") PlanType plan);
 }
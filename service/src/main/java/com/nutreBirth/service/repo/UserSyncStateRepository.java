@@ -0,0 +1,20 @@
+package com.nutreBirth.service.repo;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.nutreBirth.service.Entity.UserSyncState;
+
+import jakarta.persistence.LockModeType;
+
+public interface UserSyncStateRepository extends JpaRepository<UserSyncState, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from UserSyncState s where s.userId = :userId")
+    Optional<UserSyncState> findForUpdate(@Param("userId") UUID userId);
+}
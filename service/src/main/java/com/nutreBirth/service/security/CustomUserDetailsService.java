@@ -1,9 +1,11 @@
 package com.nutreBirth.service.security;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import com.nutreBirth.service.Entity.User;
 import com.nutreBirth.service.repo.UserRepository;
+import com.nutreBirth.service.utils.BoundedLruCache;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -19,20 +22,58 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Only populated when app.auth.user-cache.enabled=true
+    private final BoundedLruCache<String, UserDetails> cache;
+    private final long cacheTtlMillis;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+            @Value("${app.auth.user-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${app.auth.user-cache.max-size:10000}") int cacheMaxSize,
+            @Value("${app.auth.user-cache.ttl:PT60S}") Duration cacheTtl) {
         this.userRepository = userRepository;
+        this.cache = cacheEnabled ? new BoundedLruCache<>(cacheMaxSize) : null;
+        this.cacheTtlMillis = cacheTtl.toMillis();
     }
 
     @Override
     public UserDetails loadUserByUsername(String userIdString)
             throws UsernameNotFoundException {
 
-        log.debug("Loading user by username (userId): {}", userIdString);
+        if (cache == null) {
+            return loadFromDatabase(userIdString);
+        }
+
+        UserDetails cached = cache.get(userIdString);
+        if (cached != null) {
+            log.debug("UserDetails cache hit for userId: {}", userIdString);
+            return cached;
+        }
+
+        UserDetails userDetails = loadFromDatabase(userIdString);
+        cache.put(userIdString, userDetails, System.currentTimeMillis() + cacheTtlMillis);
+        return userDetails;
+    }
 
+    /**
+     * Drops a cached entry, e.g. after the user's plan changed.
+     */
+    public void evict(String userIdString) {
+        if (cache != null) {
+            cache.invalidate(userIdString);
+        }
+    }
+
+    /**
+     * The user cache, or null when app.auth.user-cache.enabled=false.
+     */
+    public BoundedLruCache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    private UserDetails loadFromDatabase(String userIdString) {
         UUID userId;
         try {
             userId = UUID.fromString(userIdString);
-            log.debug("Successfully parsed userId UUID: {}", userId);
         } catch (IllegalArgumentException ex) {
             log.error("Invalid user id format in token: {} - {}", userIdString, ex.getMessage());
             throw new UsernameNotFoundException("Invalid user id in token");
@@ -44,15 +85,13 @@ public class CustomUserDetailsService implements UserDetailsService {
                     return new UsernameNotFoundException("User not found");
                 });
 
-        log.debug("User found: {} with plan: {}", user.getEmail(), user.getPlan());
-
         UserDetails userDetails = org.springframework.security.core.userdetails.User
                 .withUsername(user.getId().toString()) // convert UUID → String
                 .password("") // Google auth, no password
                 .authorities("ROLE_" + user.getPlan().name())
                 .build();
 
-        log.info("UserDetails loaded successfully for user: {}", user.getEmail());
+        log.debug("UserDetails loaded for userId: {} with plan: {}", userId, user.getPlan());
         return userDetails;
     }
 }
@@ -1,18 +1,25 @@
 package com.nutreBirth.service.security;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.config.AccessLogFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -26,15 +33,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifyTimer;
+    private final Timer userLookupTimer;
 
     @Value("${app.auth.cookie-name:nb_auth}")
     private String cookieName;
 
+    /**
+     * claims   → build the Authentication from the verified JWT (no DB hit)
+     * database → load the user on every request via CustomUserDetailsService
+     */
+    @Value("${app.auth.mode:claims}")
+    private String authMode;
+
     public JwtAuthenticationFilter(
             JwtService jwtService,
-            CustomUserDetailsService userDetailsService) {
+            CustomUserDetailsService userDetailsService,
+            MeterRegistry meterRegistry) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.meterRegistry = meterRegistry;
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT cookie verification (signature + claims, or token cache hit)")
+                .register(meterRegistry);
+        this.userLookupTimer = Timer.builder("auth.user.lookup")
+                .description("UserDetails load per request when app.auth.mode=database")
+                .register(meterRegistry);
     }
 
     @Override
@@ -43,28 +68,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
 
-        String requestUri = request.getRequestURI();
-        log.debug("JwtAuthenticationFilter processing request: {} {}", request.getMethod(), requestUri);
-
-        String jwt = extractJwtFromCookie(request);
+        String jwt = extractJwtFromCookie(request, cookieName);
 
         // No token → continue (SecurityConfig decides if endpoint is protected)
         if (jwt == null) {
-            log.debug("No JWT cookie found for request: {}", requestUri);
             filterChain.doFilter(request, response);
             return;
         }
 
-        log.debug("JWT cookie found, attempting authentication for request: {}", requestUri);
-
+        // Per-request outcome goes into the sampled access log; only failures log here
         try {
-            String userId = jwtService.getUserId(jwt);
-            log.debug("Successfully extracted userId from JWT: {}", userId);
+            long start = System.nanoTime();
+            JwtPrincipal principal;
+            try {
+                principal = jwtService.verify(jwt);
+            } finally {
+                verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            String userId = principal.getUserId();
+            request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userId);
 
             if (SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                var userDetails = userDetailsService.loadUserByUsername(userId);
-                log.debug("Loaded user details for userId: {}", userId);
+                UserDetails userDetails = "database".equalsIgnoreCase(authMode)
+                        ? userLookupTimer.record(() -> userDetailsService.loadUserByUsername(userId))
+                        : fromClaims(principal);
 
                 var authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
@@ -75,25 +103,28 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.debug("Authentication set successfully for userId: {}", userId);
-            } else {
-                log.debug("Authentication already exists in SecurityContext");
             }
 
         } catch (io.jsonwebtoken.ExpiredJwtException ex) {
-            log.warn("Expired JWT token for request {}: {}", requestUri, ex.getMessage());
+            // Routine: browsers keep sending the cookie after it lapses
+            log.debug("Expired JWT token for request {}: {}", request.getRequestURI(), ex.getMessage());
+            countFailure("expired");
             SecurityContextHolder.clearContext();
         } catch (io.jsonwebtoken.MalformedJwtException ex) {
-            log.warn("Malformed JWT token for request {}: {}", requestUri, ex.getMessage());
+            log.warn("Malformed JWT token for request {}: {}", request.getRequestURI(), ex.getMessage());
+            countFailure("malformed");
             SecurityContextHolder.clearContext();
         } catch (io.jsonwebtoken.security.SignatureException ex) {
-            log.warn("Invalid JWT signature for request {}: {}", requestUri, ex.getMessage());
+            log.warn("Invalid JWT signature for request {}: {}", request.getRequestURI(), ex.getMessage());
+            countFailure("bad_signature");
             SecurityContextHolder.clearContext();
         } catch (org.springframework.security.core.userdetails.UsernameNotFoundException ex) {
-            log.warn("User not found during JWT authentication for request {}: {}", requestUri, ex.getMessage());
+            log.warn("User not found during JWT authentication for request {}: {}", request.getRequestURI(), ex.getMessage());
+            countFailure("user_not_found");
             SecurityContextHolder.clearContext();
         } catch (Exception ex) {
-            log.error("Unexpected error during JWT authentication for request {}: {}", requestUri, ex.getMessage(), ex);
+            log.error("Unexpected error during JWT authentication for request {}: {}", request.getRequestURI(), ex.getMessage(), ex);
+            countFailure("error");
             // Invalid or expired token - just clear auth and continue
             // Let SecurityConfig decide if endpoint requires authentication
             SecurityContextHolder.clearContext();
@@ -102,10 +133,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void countFailure(String reason) {
+        meterRegistry.counter("auth.jwt.failures", "reason", reason).increment();
+    }
+
+    /**
+     * Build UserDetails straight from the token claims. The token is only ever
+     * minted by us after a DB read, so sub/plan are trusted once verified.
+     */
+    private UserDetails fromClaims(JwtPrincipal principal) {
+        return new org.springframework.security.core.userdetails.User(
+                principal.getUserId(),
+                "", // Google auth, no password
+                List.of(new SimpleGrantedAuthority("ROLE_" + principal.getPlan().name())));
+    }
+
     /**
      * Extract JWT from HTTP-only cookie
      */
-    private String extractJwtFromCookie(HttpServletRequest request) {
+    static String extractJwtFromCookie(HttpServletRequest request, String cookieName) {
         Cookie[] cookies = request.getCookies();
         if (cookies == null)
             return null;
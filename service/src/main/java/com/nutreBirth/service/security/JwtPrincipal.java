@@ -0,0 +1,38 @@
+package com.nutreBirth.service.security;
+
+import java.time.Instant;
+
+import com.nutreBirth.service.Enum.PlanType;
+
+/**
+ * Typed view of a verified NutReBirth JWT (sub, email, plan, exp).
+ */
+public final class JwtPrincipal {
+    private final String userId;
+    private final String email;
+    private final PlanType plan;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String userId, String email, PlanType plan, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.plan = plan;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public PlanType getPlan() {
+        return plan;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,78 @@
+package com.nutreBirth.service.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import com.nutreBirth.service.utils.BoundedLruCache;
+
+/**
+ * LRU cache of already verified JWTs, keyed by the SHA-256 of the compact
+ * token. Entries live until the token's own exp, so a hit never outlives the
+ * validity the signature vouched for.
+ */
+public final class VerifiedTokenCache {
+
+    private static final MessageDigest PROTOTYPE;
+
+    static {
+        try {
+            PROTOTYPE = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(VerifiedTokenCache::newDigest);
+
+    private final BoundedLruCache<ByteBuffer, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(int maxSize) {
+        this.cache = new BoundedLruCache<>(maxSize);
+    }
+
+    public JwtPrincipal get(String token) {
+        return cache.get(key(token));
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (principal.getExpiresAt() == null) {
+            return; // never cache tokens without exp
+        }
+        cache.put(key(token), principal, principal.getExpiresAt().toEpochMilli());
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public long getEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    private static ByteBuffer key(String token) {
+        // Virtual threads are per request, caching in a ThreadLocal would not pay off
+        MessageDigest digest = Thread.currentThread().isVirtual() ? newDigest() : SHA_256.get();
+        digest.reset();
+        return ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            synchronized (PROTOTYPE) {
+                return (MessageDigest) PROTOTYPE.clone();
+            }
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 provider does not support clone()", e);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.nutreBirth.service.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Constant-time check of hex HMAC-SHA256 signatures (Razorpay payment and
+ * webhook signatures) for one fixed secret.
+ *
+ * Each thread keeps its own initialised {@link Mac} and scratch buffers, so
+ * for ASCII input the hot path allocates nothing: no Mac lookup, no hex
+ * String, no byte[] copies. Comparison uses {@link MessageDigest#isEqual}
+ * instead of String.equals, which leaks how many leading chars matched.
+ *
+ * Virtual threads live for one request, so a ThreadLocal would rebuild its
+ * Mac every time; they borrow State from a shared pool instead.
+ */
+public final class HmacSha256Verifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int CHUNK = 256;
+
+    private final Mac prototype;
+    private final ThreadLocal<State> state;
+    private final ConcurrentLinkedQueue<State> virtualThreadPool = new ConcurrentLinkedQueue<>();
+
+    public HmacSha256Verifier(String secret) {
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to initialise HMAC-SHA256", e);
+        }
+        state = ThreadLocal.withInitial(() -> new State(copyOfPrototype()));
+    }
+
+    /**
+     * Verifies {@code hexSignature} over {@code first + "|" + second}, the
+     * Razorpay payment signature layout (order_id|payment_id).
+     */
+    public boolean verify(CharSequence first, CharSequence second, CharSequence hexSignature) {
+        State s = acquire();
+        try {
+            if (!decodeHex(hexSignature, s.provided)) {
+                return false;
+            }
+            update(s, first);
+            s.mac.update((byte) '|');
+            update(s, second);
+            return finish(s);
+        } finally {
+            release(s);
+        }
+    }
+
+    /**
+     * Verifies {@code hexSignature} over raw bytes (e.g. a webhook body).
+     */
+    public boolean verify(byte[] data, CharSequence hexSignature) {
+        State s = acquire();
+        try {
+            if (!decodeHex(hexSignature, s.provided)) {
+                return false;
+            }
+            s.mac.update(data);
+            return finish(s);
+        } finally {
+            release(s);
+        }
+    }
+
+    private State acquire() {
+        if (!Thread.currentThread().isVirtual()) {
+            return state.get();
+        }
+        State s = virtualThreadPool.poll();
+        return s != null ? s : new State(copyOfPrototype());
+    }
+
+    private void release(State s) {
+        if (Thread.currentThread().isVirtual()) {
+            virtualThreadPool.offer(s);
+        }
+    }
+
+    private static boolean finish(State s) {
+        try {
+            s.mac.doFinal(s.expected, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e); // buffer is always MAC_LENGTH
+        }
+        return MessageDigest.isEqual(s.expected, s.provided);
+    }
+
+    private static void update(State s, CharSequence data) {
+        int length = data.length();
+        for (int i = 0; i < length; i++) {
+            if (data.charAt(i) >= 0x80) {
+                // Rare: non-ASCII ids, let the JDK do the UTF-8 encoding
+                s.mac.update(data.toString().getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        for (int offset = 0; offset < length; offset += CHUNK) {
+            int n = Math.min(CHUNK, length - offset);
+            for (int i = 0; i < n; i++) {
+                s.input[i] = (byte) data.charAt(offset + i);
+            }
+            s.mac.update(s.input, 0, n);
+        }
+    }
+
+    private static boolean decodeHex(CharSequence hex, byte[] out) {
+        if (hex == null || hex.length() != MAC_LENGTH * 2) {
+            return false;
+        }
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            int hi = Character.digit(hex.charAt(2 * i), 16);
+            int lo = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (hi < 0 || lo < 0) {
+                return false;
+            }
+            out[i] = (byte) ((hi << 4) | lo);
+        }
+        return true;
+    }
+
+    private synchronized Mac copyOfPrototype() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 provider does not support clone()", e);
+        }
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final byte[] input = new byte[CHUNK];
+        private final byte[] expected = new byte[MAC_LENGTH];
+        private final byte[] provided = new byte[MAC_LENGTH];
+
+        private State(Mac mac) {
+            this.mac = mac;
+        }
+    }
+}
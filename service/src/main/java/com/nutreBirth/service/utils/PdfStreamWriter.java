@@ -0,0 +1,253 @@
+package com.nutreBirth.service.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal PDF 1.4 writer that emits each page as soon as it is finished.
+ *
+ * Only the current page's content stream is buffered; finished pages go
+ * straight to the output. What is kept until {@link #finish()} is one byte
+ * offset per object for the cross-reference table, so memory grows by 16
+ * bytes per page rather than with the document. Text uses the standard
+ * Helvetica fonts (not embedded) in WinAnsiEncoding.
+ *
+ * Object numbers are fixed: 1 catalog, 2 page tree, 3-4 fonts, then a
+ * content stream and a page object per page.
+ */
+public final class PdfStreamWriter {
+
+    public static final float PAGE_WIDTH = 595; // A4 in points
+    public static final float PAGE_HEIGHT = 842;
+
+    private static final int CATALOG = 1;
+    private static final int PAGES = 2;
+    private static final int FONT_REGULAR = 3;
+    private static final int FONT_BOLD = 4;
+    private static final int FIRST_PAGE_OBJECT = 5;
+    private static final int ELLIPSIS_WIDTH = 1000;
+
+    private final CountingOutputStream out;
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream(8192);
+    private long[] offsets = new long[64];
+    private int objectCount;
+    private int pageCount;
+    private boolean pageOpen;
+
+    public PdfStreamWriter(OutputStream out) throws IOException {
+        this.out = new CountingOutputStream(out);
+        write("%PDF-1.4\n%âãÏÓ\n");
+        beginObject(CATALOG);
+        write("<< /Type /Catalog /Pages " + PAGES + " 0 R >>\nendobj\n");
+        beginObject(FONT_REGULAR);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+        beginObject(FONT_BOLD);
+        write("<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>\nendobj\n");
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    public void beginPage() {
+        if (pageOpen) {
+            throw new IllegalStateException("Page already open");
+        }
+        content.reset();
+        pageOpen = true;
+    }
+
+    /** Draws text with its baseline starting at (x, y), origin bottom-left. */
+    public void text(float x, float y, float size, boolean bold, String text) {
+        requirePage();
+        appendAscii("BT /" + (bold ? "F2 " : "F1 ") + fmt(size) + " Tf " + fmt(x) + " " + fmt(y) + " Td (");
+        appendEscaped(text);
+        appendAscii(") Tj ET\n");
+    }
+
+    /** Text whose right edge ends at {@code right}, using Helvetica widths. */
+    public void textRight(float right, float y, float size, boolean bold, String text) {
+        text(right - width(text, size), y, size, bold, text);
+    }
+
+    public void line(float x1, float y1, float x2, float y2) {
+        requirePage();
+        appendAscii("0.5 w " + fmt(x1) + " " + fmt(y1) + " m " + fmt(x2) + " " + fmt(y2) + " l S\n");
+    }
+
+    /** Writes the current page to the output. */
+    public void endPage() throws IOException {
+        requirePage();
+        int contentObject = FIRST_PAGE_OBJECT + 2 * pageCount;
+        beginObject(contentObject);
+        write("<< /Length " + content.size() + " >>\nstream\n");
+        content.writeTo(out);
+        write("\nendstream\nendobj\n");
+
+        beginObject(contentObject + 1);
+        write("<< /Type /Page /Parent " + PAGES + " 0 R /MediaBox [0 0 " + fmt(PAGE_WIDTH) + " " + fmt(PAGE_HEIGHT)
+                + "] /Resources << /Font << /F1 " + FONT_REGULAR + " 0 R /F2 " + FONT_BOLD + " 0 R >> >>"
+                + " /Contents " + contentObject + " 0 R >>\nendobj\n");
+        pageCount++;
+        pageOpen = false;
+    }
+
+    /** Closes an open page, writes the page tree, xref and trailer, and flushes (does not close) the output. */
+    public void finish() throws IOException {
+        if (pageOpen) {
+            endPage();
+        }
+        if (pageCount == 0) {
+            beginPage();
+            endPage();
+        }
+        beginObject(PAGES);
+        write("<< /Type /Pages /Count " + pageCount + " /Kids [");
+        for (int i = 0; i < pageCount; i++) {
+            write((FIRST_PAGE_OBJECT + 2 * i + 1) + " 0 R ");
+        }
+        write("] >>\nendobj\n");
+
+        long xref = out.count;
+        write("xref\n0 " + (objectCount + 1) + "\n0000000000 65535 f \n");
+        for (int i = 1; i <= objectCount; i++) {
+            String offset = Long.toString(offsets[i]);
+            write("0000000000".substring(offset.length()) + offset + " 00000 n \n");
+        }
+        write("trailer\n<< /Size " + (objectCount + 1) + " /Root " + CATALOG + " 0 R >>\nstartxref\n" + xref
+                + "\n%%EOF\n");
+        out.flush();
+    }
+
+    /** Approximate Helvetica advance width of {@code text} at {@code size} points. */
+    public static float width(String text, float size) {
+        float units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            units += charWidth(text.charAt(i));
+        }
+        return units * size / 1000;
+    }
+
+    /** {@code text} cut to fit {@code maxWidth}, ending in an ellipsis when shortened. */
+    public static String truncate(String text, float size, float maxWidth) {
+        if (width(text, size) <= maxWidth) {
+            return text;
+        }
+        float budget = maxWidth * 1000 / size - ELLIPSIS_WIDTH;
+        float units = 0;
+        int end = 0;
+        while (end < text.length() && units + charWidth(text.charAt(end)) <= budget) {
+            units += charWidth(text.charAt(end));
+            end++;
+        }
+        return text.substring(0, end) + "…";
+    }
+
+    // Helvetica AFM widths for the common cases; everything else is treated as average
+    private static int charWidth(char c) {
+        if (c >= '0' && c <= '9') {
+            return 556;
+        }
+        switch (c) {
+            case ' ', '.', ',', ':', ';', 'i', 'j', 'l', '!', '|':
+                return 278;
+            case '(', ')', '-', 'f', 't', 'r':
+                return 333;
+            case 'm', 'M', 'W':
+                return 833;
+            case 'w':
+                return 722;
+            default:
+                return Character.isUpperCase(c) ? 667 : 556;
+        }
+    }
+
+    private void requirePage() {
+        if (!pageOpen) {
+            throw new IllegalStateException("No page open");
+        }
+    }
+
+    private void beginObject(int number) throws IOException {
+        if (number >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(number + 1, offsets.length * 2));
+        }
+        offsets[number] = out.count;
+        objectCount = Math.max(objectCount, number);
+        write(number + " 0 obj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void appendAscii(String s) {
+        content.writeBytes(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    // WinAnsi: Latin-1 maps straight through, a few typographic characters are remapped
+    private void appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int b;
+            if (c == '(' || c == ')' || c == '\\') {
+                content.write('\\');
+                b = c;
+            } else if (c == '—') {
+                b = 0x97; // em dash
+            } else if (c == '–') {
+                b = 0x96; // en dash
+            } else if (c == '•') {
+                b = 0x95; // bullet
+            } else if (c == '…') {
+                b = 0x85; // ellipsis
+            } else if (c >= 0x20 && c <= 0xFF && c != 0x7F) {
+                b = c;
+            } else {
+                b = '?';
+            }
+            content.write(b);
+        }
+    }
+
+    // Two decimals at most; avoids String.format on the per-glyph-run path
+    private static String fmt(float v) {
+        long hundredths = Math.round(v * 100.0);
+        long whole = hundredths / 100;
+        long frac = Math.abs(hundredths % 100);
+        if (frac == 0) {
+            return Long.toString(whole);
+        }
+        String sign = hundredths < 0 && whole == 0 ? "-" : "";
+        return sign + whole + (frac < 10 ? ".0" : ".") + (frac % 10 == 0 ? frac / 10 : frac);
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+        private long count;
+
+        CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
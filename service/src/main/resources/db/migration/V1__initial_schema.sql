@@ -0,0 +1,127 @@
+-- Baseline schema for PostgreSQL. Mirrors the JPA mappings (checked at startup
+-- with ddl-auto=validate) plus an index for every repository lookup path.
+
+-- Accounts and payments
+
+create table users (
+    id          uuid primary key,
+    email       varchar(255) not null,
+    name        varchar(255),
+    picture_url varchar(255),
+    plan        varchar(255),
+    created_at  timestamp(6) with time zone,
+    -- UserRepository.findByEmail on every login
+    constraint uk_users_email unique (email)
+);
+
+create table payment_orders (
+    id                bigint generated by default as identity primary key,
+    razorpay_order_id varchar(255) not null,
+    receipt           varchar(255) not null,
+    user_id           uuid         not null,
+    amount_paise      bigint       not null,
+    currency          varchar(255),
+    status            varchar(255) not null,
+    created_at        timestamp(6) with time zone,
+    paid_at           timestamp(6) with time zone,
+    constraint uk_payment_orders_razorpay_order_id unique (razorpay_order_id)
+);
+create index idx_payment_orders_user_id on payment_orders (user_id);
+
+create table payments (
+    id                  bigint generated by default as identity primary key,
+    razorpay_payment_id varchar(255) not null,
+    razorpay_order_id   varchar(255),
+    user_id             uuid         not null,
+    source              varchar(255) not null,
+    verified_at         timestamp(6) with time zone,
+    constraint uk_payments_razorpay_payment_id unique (razorpay_payment_id)
+);
+create index idx_payments_order_id on payments (razorpay_order_id);
+create index idx_payments_user_id on payments (user_id);
+
+create table payment_webhook_events (
+    id           bigint generated by default as identity primary key,
+    event_id     varchar(255) not null,
+    event_type   varchar(255) not null,
+    payment_id   varchar(255),
+    order_id     varchar(255),
+    user_id      uuid,
+    payload      text         not null,
+    status       varchar(255) not null,
+    received_at  timestamp(6) with time zone,
+    processed_at timestamp(6) with time zone,
+    constraint uk_webhook_events_event_id unique (event_id)
+);
+-- Queue drain: status = 'PENDING' order by id
+create index idx_webhook_events_status_id on payment_webhook_events (status, id);
+create index idx_webhook_events_payment_id on payment_webhook_events (payment_id);
+
+-- Meal log, sync and rollups. Sequence increments match allocationSize = 50.
+
+create sequence meals_seq start with 1 increment by 50;
+create sequence meal_items_seq start with 1 increment by 50;
+create sequence daily_rollups_seq start with 1 increment by 50;
+
+create table meals (
+    id         bigint      not null primary key,
+    user_id    uuid        not null,
+    client_id  varchar(64) not null,
+    log_date   date,
+    created_at timestamp(6) with time zone,
+    version    bigint      not null,
+    updated_at bigint      not null,
+    deleted    boolean     not null,
+    constraint uk_meals_user_client_id unique (user_id, client_id)
+);
+create index idx_meals_user_date on meals (user_id, log_date);
+-- GET /sync: version > cursor, per user
+create index idx_meals_user_version on meals (user_id, version);
+
+create table meal_items (
+    id       bigint           not null primary key,
+    meal_id  bigint           not null references meals (id),
+    food_id  varchar(128)     not null,
+    name     varchar(255),
+    grams    double precision not null,
+    calories double precision,
+    protein  double precision,
+    carbs    double precision,
+    fat      double precision
+);
+create index idx_meal_items_meal_id on meal_items (meal_id);
+
+create table user_sync_state (
+    user_id uuid   not null primary key,
+    version bigint not null
+);
+
+create table profiles (
+    user_id          uuid   not null primary key,
+    height_cm        double precision,
+    weight_kg        double precision,
+    age              integer,
+    sex              varchar(255),
+    activity_level   varchar(255),
+    calorie_target   double precision,
+    protein_target_g double precision,
+    diet_type        varchar(255),
+    version          bigint not null,
+    updated_at       bigint not null
+);
+
+create table daily_rollups (
+    id         bigint             not null primary key,
+    user_id    uuid               not null,
+    log_date   date               not null,
+    meal_count integer            not null,
+    item_count integer            not null,
+    calories   double precision   not null,
+    protein    double precision   not null,
+    carbs      double precision   not null,
+    fat        double precision   not null,
+    -- One sum per Nutrient, in enum order
+    micros     double precision[] not null,
+    -- Also serves GET /progress (user_id = ? and log_date between ? and ?)
+    constraint uk_daily_rollups_user_date unique (user_id, log_date)
+);
@@ -0,0 +1,2 @@
+-- Each item's stored contribution to the daily rollup micros (see MealItem)
+alter table meal_items add column micros double precision[];
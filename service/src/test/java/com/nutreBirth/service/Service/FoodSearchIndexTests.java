@@ -0,0 +1,51 @@
+package com.nutreBirth.service.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class FoodSearchIndexTests {
+
+    private static FoodCatalog catalog;
+    private static FoodSearchIndex index;
+
+    @BeforeAll
+    static void load() throws Exception {
+        catalog = new FoodCatalog(new ObjectMapper(), "classpath:data/food_micros_seed.json");
+        index = new FoodSearchIndex(catalog);
+    }
+
+    private String best(String query) {
+        List<FoodSearchIndex.Match> top = index.search(query, 3);
+        return top.isEmpty() ? null : catalog.name(top.get(0).row());
+    }
+
+    @Test
+    void resolvesGenericPlanNamesWithoutAliases() {
+        assertEquals("Paneer (Full-Fat)", best("Paneer"));
+        assertEquals("Whole Eggs (Boiled)", best("Eggs"));
+        assertEquals("Greek Yogurt (Low-Fat)", best("greek yoghurt"));
+        assertEquals("Chicken Breast (Cooked)", best("grilled chicken breast"));
+    }
+
+    @Test
+    void prefixesRankForTypeahead() {
+        assertEquals("Almonds", best("alm"));
+        List<FoodSearchIndex.Match> rice = index.search("ric", 5);
+        assertTrue(rice.size() >= 2);
+        assertTrue(catalog.name(rice.get(0).row()).contains("Rice"));
+        assertTrue(catalog.name(rice.get(1).row()).contains("Rice"));
+    }
+
+    @Test
+    void bestMatchRejectsUnrelatedNames() {
+        assertEquals(-1, index.bestMatch("xylophone", 0.45));
+        assertTrue(index.bestMatch("Salmon", 0.45) >= 0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.nutreBirth.service.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import com.sun.net.httpserver.HttpServer;
+
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the Google verifier against a local stand-in for the certs endpoint.
+ */
+class GoogleTokenVerifierServiceTests {
+
+    private static final String CLIENT_ID = "test-client-id.apps.googleusercontent.com";
+
+    @TempDir
+    static Path tempDir;
+
+    private static HttpServer server;
+    private static final AtomicInteger certFetches = new AtomicInteger();
+    private static PrivateKey signingKey;
+
+    private GooglePublicKeysManager keysManager;
+    private GoogleTokenVerifierService service;
+
+    @BeforeAll
+    static void startKeyServer() throws Exception {
+        // keytool is the only JDK tool that mints a self-signed X.509 cert
+        Path keystore = tempDir.resolve("google-test.p12");
+        Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "k1", "-keyalg", "RSA", "-keysize", "2048",
+                "-dname", "CN=google-test", "-validity", "1", "-storetype", "PKCS12",
+                "-keystore", keystore.toString(), "-storepass", "changeit", "-keypass", "changeit")
+                .redirectErrorStream(true)
+                .start();
+        assertEquals(0, keytool.waitFor());
+
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (FileInputStream in = new FileInputStream(keystore.toFile())) {
+            ks.load(in, "changeit".toCharArray());
+        }
+        signingKey = (PrivateKey) ks.getKey("k1", "changeit".toCharArray());
+        Certificate cert = ks.getCertificate("k1");
+        String pem = "-----BEGIN CERTIFICATE-----\\n"
+                + Base64.getEncoder().encodeToString(cert.getEncoded())
+                + "\\n-----END CERTIFICATE-----\\n";
+        byte[] body = ("{\"k1\":\"" + pem + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            certFetches.incrementAndGet();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterAll
+    static void stopKeyServer() {
+        server.stop(0);
+    }
+
+    @BeforeEach
+    void setUp() {
+        certFetches.set(0);
+        keysManager = new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/certs")
+                .build();
+        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(keysManager)
+                .setAudience(List.of(CLIENT_ID))
+                .build();
+        service = new GoogleTokenVerifierService(verifier, null, CLIENT_ID, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void verifierFetchesCertsOnceAcrossLogins() {
+        for (int i = 0; i < 5; i++) {
+            GoogleIdToken.Payload payload = service.verify(idToken(signingKey, CLIENT_ID));
+            assertEquals("a@example.com", payload.getEmail());
+        }
+        assertEquals(1, certFetches.get());
+    }
+
+    @Test
+    void backgroundRefreshHonoursMaxAgeAndWarmsTheCache() throws Exception {
+        GooglePublicKeysRefresher refresher = new GooglePublicKeysRefresher(keysManager, false, 600);
+
+        long expiresAt = refresher.refreshNow();
+        service.verify(idToken(signingKey, CLIENT_ID));
+
+        long remaining = expiresAt - System.currentTimeMillis();
+        assertTrue(remaining > 3_500_000 && remaining <= 3_600_000, "expiry should follow max-age=3600");
+        assertEquals(1, certFetches.get());
+    }
+
+    @Test
+    void rejectsTokenForAnotherAudience() {
+        String token = idToken(signingKey, "someone-else.apps.googleusercontent.com");
+        assertThrows(RuntimeException.class, () -> service.verify(token));
+    }
+
+    @Test
+    void rejectsTokenSignedWithUnknownKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = idToken(generator.generateKeyPair().getPrivate(), CLIENT_ID);
+        assertThrows(RuntimeException.class, () -> service.verify(token));
+    }
+
+    private static String idToken(PrivateKey key, String audience) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId("k1").and()
+                .issuer("https://accounts.google.com")
+                .audience().single(audience)
+                .subject("1234567890")
+                .claim("email", "a@example.com")
+                .claim("name", "Test User")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plusSeconds(3600)))
+                .signWith(key, Jwts.SIG.RS256)
+                .compact();
+    }
+}
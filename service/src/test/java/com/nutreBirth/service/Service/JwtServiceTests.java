@@ -0,0 +1,69 @@
+package com.nutreBirth.service.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.security.JwtPrincipal;
+
+class JwtServiceTests {
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "test-secret-0123456789abcdef0123456789abcdef");
+        ReflectionTestUtils.setField(jwtService, "tokenCacheEnabled", true);
+        ReflectionTestUtils.setField(jwtService, "tokenCacheMaxSize", 16);
+        jwtService.init();
+    }
+
+    @Test
+    void verifyServesRepeatTokensFromCache() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("a@example.com");
+        user.setPlan(PlanType.PREMIUM);
+        String token = jwtService.generate(user);
+
+        JwtPrincipal first = jwtService.verify(token);
+        JwtPrincipal second = jwtService.verify(token);
+
+        assertEquals(user.getId().toString(), first.getUserId());
+        assertEquals(PlanType.PREMIUM, first.getPlan());
+        assertEquals("a@example.com", first.getEmail());
+        assertEquals(first, second);
+        assertEquals(1, jwtService.getTokenCache().getMissCount());
+        assertEquals(1, jwtService.getTokenCache().getHitCount());
+    }
+
+    @Test
+    void tamperedTokenIsNotServedFromCache() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("a@example.com");
+        user.setPlan(PlanType.FREE);
+        String token = jwtService.generate(user);
+        jwtService.verify(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void initRejectsWeakSecret() {
+        JwtService weak = new JwtService();
+        ReflectionTestUtils.setField(weak, "secret", "too-short");
+
+        assertThrows(IllegalStateException.class, weak::init);
+    }
+}
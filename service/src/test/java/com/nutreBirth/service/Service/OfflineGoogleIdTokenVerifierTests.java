@@ -0,0 +1,138 @@
+package com.nutreBirth.service.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OfflineGoogleIdTokenVerifierTests {
+
+    private static final String CLIENT_ID = "test-client-id.apps.googleusercontent.com";
+
+    private static KeyPair current;
+    private static KeyPair rotated;
+
+    @TempDir
+    Path tempDir;
+
+    private GoogleJwksStore store;
+    private OfflineGoogleIdTokenVerifier verifier;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        current = generator.generateKeyPair();
+        rotated = generator.generateKeyPair();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path jwks = tempDir.resolve("jwks.json");
+        Files.writeString(jwks, jwks(jwk("k1", current)));
+        store = new GoogleJwksStore(jwks.toUri().toString(), 3600);
+        store.reload();
+        verifier = new OfflineGoogleIdTokenVerifier(store, CLIENT_ID);
+    }
+
+    @Test
+    void verifiesTokenSignedByKeyInSnapshot() {
+        GoogleIdToken.Payload payload = verifier.verify(
+                idToken("k1", current.getPrivate(), "https://accounts.google.com", CLIENT_ID, 3600));
+
+        assertEquals("a@example.com", payload.getEmail());
+        assertEquals("Test User", payload.get("name"));
+        assertEquals(CLIENT_ID, payload.getAudience());
+    }
+
+    @Test
+    void hotSwapPicksUpRotatedKeys() {
+        String oldToken = idToken("k1", current.getPrivate(), "accounts.google.com", CLIENT_ID, 3600);
+        String newToken = idToken("k2", rotated.getPrivate(), "accounts.google.com", CLIENT_ID, 3600);
+        assertThrows(JwtException.class, () -> verifier.verify(newToken));
+
+        store.replace(jwks(jwk("k2", rotated)));
+
+        assertEquals("a@example.com", verifier.verify(newToken).getEmail());
+        assertThrows(JwtException.class, () -> verifier.verify(oldToken));
+    }
+
+    @Test
+    void rejectsWrongAudienceIssuerExpiryAndKey() {
+        assertThrows(JwtException.class, () -> verifier.verify(
+                idToken("k1", current.getPrivate(), "accounts.google.com", "other-client", 3600)));
+        assertThrows(JwtException.class, () -> verifier.verify(
+                idToken("k1", current.getPrivate(), "https://evil.example.com", CLIENT_ID, 3600)));
+        assertThrows(JwtException.class, () -> verifier.verify(
+                idToken("k1", current.getPrivate(), "accounts.google.com", CLIENT_ID, -3600)));
+        assertThrows(JwtException.class, () -> verifier.verify(
+                idToken("k1", rotated.getPrivate(), "accounts.google.com", CLIENT_ID, 3600)));
+    }
+
+    @Test
+    void serviceUsesOfflineVerifierWhenPresent() {
+        GoogleTokenVerifierService service = new GoogleTokenVerifierService(null, verifier, CLIENT_ID, new SimpleMeterRegistry());
+
+        String token = idToken("k1", current.getPrivate(), "accounts.google.com", CLIENT_ID, 3600);
+        assertEquals("a@example.com", service.verify(token).getEmail());
+
+        String forged = idToken("k1", rotated.getPrivate(), "accounts.google.com", CLIENT_ID, 3600);
+        assertThrows(RuntimeException.class, () -> service.verify(forged));
+    }
+
+    private static String idToken(String kid, PrivateKey key, String issuer, String audience, long ttlSeconds) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer(issuer)
+                .audience().single(audience)
+                .subject("1234567890")
+                .claim("email", "a@example.com")
+                .claim("email_verified", true)
+                .claim("name", "Test User")
+                .issuedAt(Date.from(now.minusSeconds(Math.max(0, -ttlSeconds) + 60)))
+                .expiration(Date.from(now.plusSeconds(ttlSeconds)))
+                .signWith(key, Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static String jwks(String... keys) {
+        return "{\"keys\":[" + String.join(",", keys) + "]}";
+    }
+
+    private static String jwk(String kid, KeyPair pair) {
+        RSAPublicKey key = (RSAPublicKey) pair.getPublic();
+        return "{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid + "\","
+                + "\"n\":\"" + base64Url(key.getModulus()) + "\","
+                + "\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
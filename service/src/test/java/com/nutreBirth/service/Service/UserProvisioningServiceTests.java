@@ -0,0 +1,56 @@
+package com.nutreBirth.service.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.nutreBirth.service.Entity.User;
+
+@SpringBootTest
+class UserProvisioningServiceTests {
+
+    @Autowired
+    private UserProvisioningService userProvisioningService;
+
+    /**
+     * Bypasses the in-process coalescing to hit the unique-index fallback,
+     * as two service instances racing on the same email would.
+     */
+    @Test
+    void conflictingInsertsResolveToTheSameRow() throws Exception {
+        String email = "race@example.com";
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UUID>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 100; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    User user = userProvisioningService.insertOrFetch(email, "Race", null);
+                    return user.getId();
+                }));
+            }
+            start.countDown();
+
+            Set<UUID> ids = new HashSet<>();
+            for (Future<UUID> result : results) {
+                ids.add(result.get());
+            }
+            assertEquals(1, ids.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nutreBirth.service;
+
+import java.util.UUID;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Signed-in test users: a fresh, unsaved user with a random id and the
+ * nb_auth cookie the browser would send for it.
+ */
+public final class TestAuth {
+
+    public static final String COOKIE = "nb_auth";
+
+    private TestAuth() {
+    }
+
+    public static User user(PlanType plan) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user-" + user.getId() + "@example.com");
+        user.setPlan(plan);
+        return user;
+    }
+
+    public static Cookie cookieFor(JwtService jwtService, User user) {
+        return new Cookie(COOKIE, jwtService.generate(user));
+    }
+
+    public static Cookie cookieFor(JwtService jwtService, PlanType plan) {
+        return cookieFor(jwtService, user(plan));
+    }
+}
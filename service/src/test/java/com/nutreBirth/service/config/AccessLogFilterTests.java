@@ -0,0 +1,72 @@
+package com.nutreBirth.service.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.http.HttpServletResponse;
+
+class AccessLogFilterTests {
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("access");
+
+    @BeforeEach
+    void attach() {
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void detach() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void unsampledSuccessIsSkippedButServerErrorsAlwaysLogged() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 0.0, Duration.ofSeconds(1));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/me"), new MockHttpServletResponse(), new MockFilterChain());
+        assertTrue(appender.list.isEmpty());
+
+        MockHttpServletRequest failing = new MockHttpServletRequest("POST", "/payment/verify");
+        failing.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, "user-1");
+        filter.doFilter(failing, new MockHttpServletResponse(), (req, res) ->
+                ((HttpServletResponse) res).setStatus(502));
+
+        assertEquals(1, appender.list.size());
+        Map<String, Object> fields = appender.list.get(0).getKeyValuePairs().stream()
+                .collect(Collectors.toMap(kv -> kv.key, kv -> kv.value));
+        assertEquals("POST", fields.get("method"));
+        assertEquals("/payment/verify", fields.get("path"));
+        assertEquals(502, fields.get("status"));
+        assertEquals("user-1", fields.get("user_id"));
+        assertEquals(false, fields.get("sampled"));
+    }
+
+    @Test
+    void fullSampleRateLogsEveryRequest() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(true, 1.0, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/me"), new MockHttpServletResponse(),
+                    new MockFilterChain());
+        }
+
+        assertEquals(3, appender.list.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.nutreBirth.service.Service.GoogleTokenVerifierService;
+import com.nutreBirth.service.repo.UserRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerConcurrencyTests {
+
+    private static final int LOGINS = 300;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private GoogleTokenVerifierService googleTokenVerifier;
+
+    @Test
+    void simultaneousFirstLoginsCreateExactlyOneUser() throws Exception {
+        String email = "first-login@example.com";
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setEmail(email);
+        payload.set("name", "First Login");
+        when(googleTokenVerifier.verify(anyString())).thenReturn(payload);
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < LOGINS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/auth/google")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"idToken\":\"token\"}"))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(200, result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertTrue(userRepository.findByEmail(email).isPresent());
+        assertEquals(1, userRepository.findAll().stream()
+                .filter(u -> email.equals(u.getEmail()))
+                .count());
+    }
+}
@@ -0,0 +1,101 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+import com.nutreBirth.service.repo.UserRepository;
+import com.nutreBirth.service.security.CustomUserDetailsService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest(properties = {
+        "app.auth.mode=database",
+        "app.auth.user-cache.enabled=true",
+        "app.auth.user-cache.ttl=PT10M"
+})
+@AutoConfigureMockMvc
+class DatabaseAuthModeTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void roleComesFromTheCachedUserUntilEvicted() throws Exception {
+        User user = new User();
+        user.setEmail("database-mode@example.com");
+        user.setPlan(PlanType.FREE);
+        user = userRepository.save(user);
+        String userId = user.getId().toString();
+        // The token never changes, so any role change below comes from the database
+        Cookie cookie = TestAuth.cookieFor(jwtService, user);
+        assertNull(userDetailsService.getCache().get(userId));
+
+        mockMvc.perform(get("/me").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plan").value("FREE"));
+        UserDetails loaded = userDetailsService.getCache().get(userId);
+        assertNotNull(loaded);
+        assertEquals("ROLE_FREE", role(loaded));
+
+        // Upgrade behind the cache's back: the next request still sees FREE
+        user.setPlan(PlanType.PREMIUM);
+        userRepository.save(user);
+        mockMvc.perform(get("/plans/full").param("calories", "1800").cookie(cookie))
+                .andExpect(status().isForbidden());
+        assertSame(loaded, userDetailsService.getCache().get(userId));
+
+        userDetailsService.evict(userId);
+        assertNull(userDetailsService.getCache().get(userId));
+
+        mockMvc.perform(get("/plans/full").param("calories", "1800").cookie(cookie))
+                .andExpect(status().isOk());
+        assertEquals("ROLE_PREMIUM", role(userDetailsService.getCache().get(userId)));
+    }
+
+    @Test
+    void tokenForAMissingUserIsNotAuthenticated() throws Exception {
+        double before = meterRegistry.counter("auth.jwt.failures", "reason", "user_not_found").count();
+
+        // Valid signature, but no row behind it
+        mockMvc.perform(get("/me").cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM)))
+                .andExpect(status().isForbidden());
+        assertEquals(before + 1, meterRegistry.counter("auth.jwt.failures", "reason", "user_not_found").count());
+    }
+
+    private static String role(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElseThrow();
+    }
+}
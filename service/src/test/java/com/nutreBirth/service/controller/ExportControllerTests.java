@@ -0,0 +1,301 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.HistoryExporter;
+import com.nutreBirth.service.Service.PlanPdfExporter;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.Cookie;
+
+// Small history pages so every export spans several of them
+@SpringBootTest(properties = "app.export.history.page-size=2")
+@AutoConfigureMockMvc
+class ExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private HistoryExporter historyExporter;
+
+    @Autowired
+    @Qualifier("pdfExportExecutor")
+    private ThreadPoolTaskExecutor exportExecutor;
+
+    @MockitoSpyBean
+    private PlanPdfExporter pdfExporter;
+
+    @Test
+    void storedPlanStreamsAsPdfForPremiumOnly() throws Exception {
+        mockMvc.perform(get("/export/plan.pdf").param("calories", "1800")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.FREE)))
+                .andExpect(status().isForbidden());
+
+        MvcResult started = mockMvc.perform(get("/export/plan.pdf")
+                .param("type", "vegetarian").param("calories", "1800")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] pdf = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/pdf"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            String text = new PDFTextStripper().getText(document);
+            assertTrue(text.contains("NutReBirth diet plan — 1800 kcal — vegetarian"), text);
+            assertTrue(text.contains("Meal 1"));
+            assertTrue(text.contains("Iron (mg)"));
+            assertTrue(text.contains("Plan total"));
+        }
+    }
+
+    @Test
+    void largeCustomPlanSpansManyPages() throws Exception {
+        StringBuilder body = new StringBuilder("{\"type\":\"custom\",\"meals\":[");
+        for (int meal = 1; meal <= 20; meal++) {
+            body.append(meal > 1 ? "," : "").append("{\"mealNumber\":").append(meal).append(",\"items\":[");
+            for (int i = 0; i < 100; i++) {
+                body.append(i > 0 ? "," : "")
+                        .append("{\"name\":\"Almonds\",\"quantity\":\"20 g\",\"protein\":4,\"carbs\":2,\"fats\":11,\"calories\":120}");
+            }
+            body.append("]}");
+        }
+        body.append("]}");
+
+        MvcResult started = mockMvc.perform(post("/export/plan.pdf")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] pdf = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            // 2000 rows at ~55 per page
+            assertTrue(document.getNumberOfPages() > 30, "pages: " + document.getNumberOfPages());
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(document.getNumberOfPages());
+            assertTrue(stripper.getText(document).contains("Meal 20 (continued)"));
+        }
+    }
+
+    @Test
+    void customPlanMustBeAnObject() throws Exception {
+        MvcResult started = mockMvc.perform(post("/export/plan.pdf")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1, 2, 3]"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void timedOutExportStopsRenderingAndFreesItsWorker() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CompletableFuture<IOException> stopped = new CompletableFuture<>();
+        // A render that would never finish on its own and ignores interrupts
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            rendering.countDown();
+            try {
+                while (true) {
+                    out.write('%');
+                    LockSupport.parkNanos(1_000_000);
+                }
+            } catch (IOException e) {
+                stopped.complete(e);
+                throw e;
+            }
+        }).when(pdfExporter).export(any(), any());
+
+        MvcResult started = mockMvc.perform(get("/export/plan.pdf").param("calories", "1800")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(rendering.await(5, TimeUnit.SECONDS));
+
+        MockAsyncContext async = (MockAsyncContext) started.getRequest().getAsyncContext();
+        for (AsyncListener listener : async.getListeners()) {
+            listener.onTimeout(new AsyncEvent(async));
+        }
+
+        assertEquals("Export cancelled", stopped.get(5, TimeUnit.SECONDS).getMessage());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (exportExecutor.getActiveCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, exportExecutor.getActiveCount());
+    }
+
+    @Test
+    void exportsBeyondWorkersAndQueueGet503() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return 1;
+        }).when(pdfExporter).export(any(), any());
+        Cookie cookie = TestAuth.cookieFor(jwtService, PlanType.PREMIUM);
+
+        List<MvcResult> accepted = new ArrayList<>();
+        try {
+            int capacity = exportExecutor.getMaxPoolSize() + exportExecutor.getQueueCapacity();
+            for (int i = 0; i < capacity; i++) {
+                accepted.add(mockMvc.perform(get("/export/plan.pdf").param("calories", "1800").cookie(cookie))
+                        .andExpect(request().asyncStarted())
+                        .andReturn());
+            }
+            MvcResult rejected = mockMvc.perform(get("/export/plan.pdf").param("calories", "1800").cookie(cookie))
+                    .andReturn();
+            // The rejection is dispatched before any interceptor has run, so
+            // MockMvc never records an async result; re-dispatch by hand
+            MockHttpServletRequest dispatch = rejected.getRequest();
+            dispatch.setDispatcherType(DispatcherType.ASYNC);
+            dispatch.setAsyncStarted(false);
+            mockMvc.perform(servletContext -> dispatch)
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "5"));
+        } finally {
+            release.countDown();
+        }
+        for (MvcResult result : accepted) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void historyStreamsAsNdjsonAndCsv() throws Exception {
+        Cookie cookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+        mockMvc.perform(post("/meals:batch").cookie(cookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":\"a\",\"date\":\"2026-10-01\",\"items\":["
+                        + "{\"foodId\":\"almonds\",\"name\":\"Almonds\",\"grams\":20,\"protein\":4.2},"
+                        + "{\"foodId\":\"x1\",\"name\":\"Grandma's \\\"special\\\", stew\",\"grams\":250}]},"
+                        + "{\"id\":\"b\",\"date\":\"2026-10-02\",\"items\":[{\"foodId\":\"oats\",\"grams\":40}]}]"))
+                .andExpect(status().isOk());
+
+        MvcResult started = mockMvc.perform(get("/export/history").cookie(cookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"date\":\"2026-10-01\",\"meal\":\"a\",\"foodId\":\"almonds\""), lines[0]);
+        assertTrue(lines[0].contains("\"matchedFood\":\"Almonds\",\"micros\":{\"fiber_g\":"), lines[0]);
+
+        started = mockMvc.perform(get("/export/history").param("format", "csv").param("from", "2026-10-01")
+                .param("to", "2026-10-01").cookie(cookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+        lines = csv.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("date,meal,food_id,name,grams,calories,protein,carbs,fat,matched_food,fiber_g,"));
+        assertTrue(lines[1].startsWith("2026-10-01,a,almonds,Almonds,20,,4.2,,,Almonds,"), lines[1]);
+        assertTrue(lines[2].startsWith("2026-10-01,a,x1,\"Grandma's \"\"special\"\", stew\",250,"), lines[2]);
+    }
+
+    @Test
+    void historyHoldsNoTransactionWhileWriting() throws Exception {
+        User user = TestAuth.user(PlanType.FREE);
+        StringBuilder meals = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            meals.append(i > 0 ? "," : "").append("{\"id\":\"h").append(i).append("\",\"date\":\"2026-10-0")
+                    .append(5 - i % 2).append("\",\"items\":[{\"foodId\":\"oats\",\"grams\":40},")
+                    .append("{\"foodId\":\"milk\",\"grams\":200}]}");
+        }
+        mockMvc.perform(post("/meals:batch").cookie(TestAuth.cookieFor(jwtService, user))
+                .contentType(MediaType.APPLICATION_JSON).content(meals.append(']').toString()))
+                .andExpect(status().isOk());
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        OutputStream client = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                assertFalse(TransactionSynchronizationManager.isActualTransactionActive(),
+                        "export wrote to the client inside a transaction");
+                written.write(b, off, len);
+            }
+        };
+        long rows = historyExporter.export(user.getId(), LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31),
+                HistoryExporter.Format.CSV, client);
+
+        assertEquals(10, rows);
+        String[] lines = written.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(11, lines.length);
+        // Date order across pages: the two 2026-10-04 meals, then the three 2026-10-05 ones
+        assertTrue(lines[1].startsWith("2026-10-04,h1,oats,"), lines[1]);
+        assertTrue(lines[10].startsWith("2026-10-05,h4,milk,"), lines[10]);
+    }
+
+    @Test
+    void historyRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/export/history").param("format", "xml")
+                .cookie(TestAuth.cookieFor(jwtService, PlanType.FREE)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,60 @@
+package com.nutreBirth.service.controller;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FoodControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void resolvesSeedNamesIgnoringCaseAndQualifiers() throws Exception {
+        mockMvc.perform(get("/foods/{name}", "CHICKEN BREAST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Chicken Breast (Cooked)"))
+                .andExpect(jsonPath("$.iron_mg").value(1.0))
+                .andExpect(jsonPath("$.vitB12_ug").value(0.3))
+                .andExpect(jsonPath("$.keyAntioxidant").value("Selenium (Mineral)"));
+
+        mockMvc.perform(get("/foods/{name}", "nope"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void bulkLookupAppliesAliasesAndPreparationFallback() throws Exception {
+        mockMvc.perform(post("/foods/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"Fish\", \"Almonds, raw\", \"Paneer\", \"unknown thing\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].name").value("Atlantic Salmon (Cooked)"))
+                .andExpect(jsonPath("$.results[1].name").value("Almonds"))
+                .andExpect(jsonPath("$.results[2].name").value("Paneer (Full-Fat)"))
+                .andExpect(jsonPath("$.results[3]").value(nullValue()));
+    }
+
+    @Test
+    void typeaheadAndFuzzyFallback() throws Exception {
+        mockMvc.perform(get("/foods/search").param("q", "pist").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].name").value("Pistachios"))
+                .andExpect(jsonPath("$.results.length()").value(3));
+
+        // Not in the alias table; resolved by the search index
+        mockMvc.perform(get("/foods/{name}", "Eggs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Whole Eggs (Boiled)"));
+    }
+}
@@ -0,0 +1,121 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+import com.nutreBirth.service.repo.MealRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class MealControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private MealRepository mealRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID userId;
+    private Cookie authCookie;
+
+    @BeforeEach
+    void login() {
+        User user = TestAuth.user(PlanType.FREE);
+        userId = user.getId();
+        authCookie = TestAuth.cookieFor(jwtService, user);
+    }
+
+    @Test
+    void weekOfLogsIsStoredWithBatchedInsertsAndResendsAreDuplicates() throws Exception {
+        // 7 days x 4 meals x 10 items
+        String body = week(10);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        mockMvc.perform(post("/meals:batch").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(28))
+                .andExpect(jsonPath("$.items").value(280))
+                .andExpect(jsonPath("$.duplicates.length()").value(0));
+
+        // 28 meals, 280 items, the user's sync counter row and 7 daily rollups
+        assertEquals(316, stats.getEntityInsertCount());
+        // Duplicate check, a few sequence calls and one statement per JDBC batch, not one per row
+        assertTrue(stats.getPrepareStatementCount() < 40, "statements: " + stats.getPrepareStatementCount());
+        assertEquals(28, mealRepository.countByUserId(userId));
+
+        mockMvc.perform(post("/meals:batch").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(0))
+                .andExpect(jsonPath("$.duplicates.length()").value(28));
+        assertEquals(28, mealRepository.countByUserId(userId));
+    }
+
+    @Test
+    void invalidMealRejectsTheWholeBatch() throws Exception {
+        mockMvc.perform(post("/meals:batch").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":\"m1\",\"date\":\"2026-10-01\",\"items\":[{\"foodId\":\"oats\",\"grams\":40}]},"
+                        + "{\"id\":\"m2\",\"items\":[]}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("meals[1]: date is required"));
+        assertEquals(0, mealRepository.countByUserId(userId));
+    }
+
+    @Test
+    void requiresAuthentication() throws Exception {
+        mockMvc.perform(post("/meals:batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static String week(int itemsPerMeal) {
+        StringBuilder json = new StringBuilder("[");
+        for (int day = 1; day <= 7; day++) {
+            for (int meal = 0; meal < 4; meal++) {
+                json.append(json.length() > 1 ? "," : "")
+                        .append("{\"id\":\"meal-").append(day).append('-').append(meal)
+                        .append("\",\"date\":\"2026-10-0").append(day).append("\",\"items\":[");
+                for (int i = 0; i < itemsPerMeal; i++) {
+                    json.append(i > 0 ? "," : "")
+                            .append("{\"foodId\":\"food-").append(i).append("\",\"grams\":").append(50 + i)
+                            .append(",\"protein\":").append(i).append('}');
+                }
+                json.append("]}");
+            }
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.nutreBirth.service.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest(properties = "app.metrics.scrape-password=scrape-secret")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void prometheusScrapeExposesAuthTimersHistogramsAndFailureReasons() throws Exception {
+        Cookie cookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+
+        mockMvc.perform(get("/me").cookie(cookie));
+        mockMvc.perform(get("/me").cookie(cookie));
+        mockMvc.perform(get("/me").cookie(new Cookie("nb_auth", "not-a-jwt")))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("auth_jwt_verify_seconds_bucket")))
+                .andExpect(content().string(containsString("auth_jwt_failures_total{application=\"service\",reason=\"malformed\"}")))
+                .andExpect(content().string(containsString("auth_token_cache_requests_total{application=\"service\",result=\"hit\"}")));
+    }
+
+    @Test
+    void prometheusRequiresScrapeCredentials() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+        // A signed-in app user is not a scraper
+        mockMvc.perform(get("/actuator/prometheus").cookie(TestAuth.cookieFor(jwtService, PlanType.PREMIUM)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void healthIsPublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
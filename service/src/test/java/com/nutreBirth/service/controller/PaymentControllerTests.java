@@ -0,0 +1,241 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.OrderStatus;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.Service.PaymentService;
+import com.nutreBirth.service.Service.RazorpayGateway;
+import com.nutreBirth.service.TestAuth;
+import com.nutreBirth.service.repo.PaymentOrderRepository;
+import com.nutreBirth.service.repo.PaymentRepository;
+import com.nutreBirth.service.repo.UserRepository;
+import com.nutreBirth.service.utils.PaymentUtils;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Exercises order creation against a local stand-in for api.razorpay.com.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentControllerTests {
+
+    private static final HttpServer razorpayStub = startStub();
+    private static final AtomicReference<Stub> nextResponse = new AtomicReference<>();
+    private static final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentOrderRepository orderRepository;
+
+    @DynamicPropertySource
+    static void razorpayProperties(DynamicPropertyRegistry registry) {
+        registry.add("razorpay.api-base-url", PaymentControllerTests::stubUrl);
+        registry.add("razorpay.key-id", () -> "rzp_test_local");
+        registry.add("razorpay.key-secret", () -> "local-secret");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        razorpayStub.stop(0);
+    }
+
+    @BeforeEach
+    void resetStub() {
+        nextResponse.set(new Stub(200,
+                "{\"id\":\"order_local_1\",\"entity\":\"order\",\"amount\":19900,\"currency\":\"INR\"}",
+                null));
+    }
+
+    @Test
+    void createOrderCallsGatewayWithBasicAuth() throws Exception {
+        mockMvc.perform(post("/payment/create-order").cookie(authCookie()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value("order_local_1"))
+                .andExpect(jsonPath("$.amount").value(19900))
+                .andExpect(jsonPath("$.key").value("rzp_test_local"));
+
+        String expected = "Basic " + java.util.Base64.getEncoder()
+                .encodeToString("rzp_test_local:local-secret".getBytes(StandardCharsets.UTF_8));
+        assertEquals(expected, lastAuthorization.get());
+    }
+
+    @Test
+    void asyncCreateOrderReleasesServletThread() throws Exception {
+        MvcResult pending = mockMvc.perform(post("/payment/create-order-async").cookie(authCookie()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderId").value("order_local_1"));
+    }
+
+    @Test
+    void gatewayErrorMapsToBadGateway() throws Exception {
+        nextResponse.set(new Stub(400,
+                "{\"error\":{\"code\":\"BAD_REQUEST_ERROR\",\"description\":\"amount too small\"}}", null));
+
+        mockMvc.perform(post("/payment/create-order").cookie(authCookie()))
+                .andExpect(status().isBadGateway())
+                .andExpect(jsonPath("$.error").value("Payment gateway error: amount too small"));
+    }
+
+    @Test
+    void concurrencyLimitFailsFastWhenGatewayIsSlow() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        nextResponse.set(new Stub(200, "{\"id\":\"order_slow\",\"amount\":19900,\"currency\":\"INR\"}", release));
+        RazorpayGateway gateway = new RazorpayGateway(objectMapper, stubUrl(), "rzp_test_local", "local-secret",
+                Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMillis(50), 1, false);
+
+        CompletableFuture<JsonNode> slow = gateway.createOrderAsync(19900, "INR", "r1", Map.of());
+        CompletableFuture<JsonNode> rejected = gateway.createOrderAsync(19900, "INR", "r2", Map.of());
+
+        ExecutionException ex = org.junit.jupiter.api.Assertions.assertThrows(ExecutionException.class,
+                () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RazorpayGateway.GatewayBusyException.class, ex.getCause());
+
+        release.countDown();
+        assertEquals("order_slow", slow.get(5, TimeUnit.SECONDS).path("id").asText());
+        assertTrue(gateway.createOrderAsync(19900, "INR", "r3", Map.of()).get(5, TimeUnit.SECONDS).has("id"));
+    }
+
+    @Test
+    void verifyIsIdempotentPerPaymentAndBoundToItsUser() throws Exception {
+        User payer = userRepository.save(newUser("verify-payer@example.com"));
+        User other = userRepository.save(newUser("verify-other@example.com"));
+        paymentService.recordOrder("order_V1", "nb_v1", payer.getId(), 19900, "INR");
+        String body = objectMapper.writeValueAsString(Map.of(
+                "razorpayOrderId", "order_V1",
+                "razorpayPaymentId", "pay_V1",
+                "razorpaySignature", PaymentUtils.hmacSha256("order_V1|pay_V1", "local-secret")));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/payment/verify").cookie(new Cookie("nb_auth", jwtService.generate(payer)))
+                    .contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.user.plan").value("PREMIUM"));
+        }
+        assertEquals(1, paymentRepository.findAll().stream()
+                .filter(p -> "pay_V1".equals(p.getRazorpayPaymentId())).count());
+        assertEquals(OrderStatus.PAID, orderRepository.findByRazorpayOrderId("order_V1").orElseThrow().getStatus());
+
+        // A cached outcome is only replayed for the same signature
+        for (Map<String, String> retry : List.of(
+                Map.of("razorpayOrderId", "order_V1", "razorpayPaymentId", "pay_V1", "razorpaySignature", "0".repeat(64)),
+                Map.of("razorpayOrderId", "order_V1", "razorpayPaymentId", "pay_V1"))) {
+            mockMvc.perform(post("/payment/verify").cookie(new Cookie("nb_auth", jwtService.generate(payer)))
+                    .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(retry)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE));
+        }
+
+        mockMvc.perform(post("/payment/verify").cookie(new Cookie("nb_auth", jwtService.generate(other)))
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        assertEquals(PlanType.FREE, userRepository.findById(other.getId()).orElseThrow().getPlan());
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPlan(PlanType.FREE);
+        return user;
+    }
+
+    private Cookie authCookie() {
+        return TestAuth.cookieFor(jwtService, PlanType.FREE);
+    }
+
+    private static String stubUrl() {
+        return "http://127.0.0.1:" + razorpayStub.getAddress().getPort();
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+            server.createContext("/v1/orders", exchange -> {
+                lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                exchange.getRequestBody().readAllBytes();
+                Stub stub = nextResponse.get();
+                if (stub.release != null) {
+                    try {
+                        stub.release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = stub.body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(stub.status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Stub(int status, String body, CountDownLatch release) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.nutreBirth.service.Entity.PaymentOrder;
+import com.nutreBirth.service.Entity.PaymentWebhookEvent;
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Enum.WebhookEventStatus;
+import com.nutreBirth.service.Service.PaymentWebhookProcessor;
+import com.nutreBirth.service.repo.PaymentOrderRepository;
+import com.nutreBirth.service.repo.PaymentWebhookEventRepository;
+import com.nutreBirth.service.repo.UserRepository;
+import com.nutreBirth.service.utils.PaymentUtils;
+
+@SpringBootTest(properties = {
+        "razorpay.webhook-secret=whsec_test",
+        "app.scheduling.enabled=false"
+})
+@AutoConfigureMockMvc
+class PaymentWebhookTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaymentWebhookEventRepository eventRepository;
+
+    @Autowired
+    private PaymentOrderRepository orderRepository;
+
+    @Autowired
+    private PaymentWebhookProcessor processor;
+
+    @Test
+    void queuedWebhooksUpgradeUserOncePerPayment() throws Exception {
+        User user = new User();
+        user.setEmail("webhook@example.com");
+        user = userRepository.save(user);
+
+        String captured = event("payment.captured", "pay_W1", user.getId().toString());
+        String paid = event("order.paid", "pay_W1", user.getId().toString());
+
+        deliver("evt_1", captured, PaymentUtils.hmacSha256(captured, "whsec_test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("queued"));
+        deliver("evt_1", captured, PaymentUtils.hmacSha256(captured, "whsec_test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("duplicate"));
+        deliver("evt_2", paid, PaymentUtils.hmacSha256(paid, "whsec_test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("queued"));
+        deliver("evt_3", paid, PaymentUtils.hmacSha256(paid, "wrong-secret"))
+                .andExpect(status().isBadRequest());
+
+        processor.drain();
+
+        assertEquals(PlanType.PREMIUM, userRepository.findById(user.getId()).orElseThrow().getPlan());
+        Map<String, WebhookEventStatus> statuses = eventRepository.findAll().stream()
+                .filter(e -> "pay_W1".equals(e.getPaymentId()))
+                .collect(Collectors.toMap(PaymentWebhookEvent::getEventId, PaymentWebhookEvent::getStatus));
+        assertEquals(Map.of("evt_1", WebhookEventStatus.APPLIED, "evt_2", WebhookEventStatus.SKIPPED), statuses);
+    }
+
+    @Test
+    void capturedPaymentWithoutNotesUpgradesTheOrderOwner() throws Exception {
+        User user = new User();
+        user.setEmail("webhook-order@example.com");
+        user = userRepository.save(user);
+        PaymentOrder order = new PaymentOrder();
+        order.setRazorpayOrderId("order_W2");
+        order.setReceipt("rcpt_W2");
+        order.setUserId(user.getId());
+        orderRepository.save(order);
+
+        String captured = "{\"entity\":\"event\",\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":{"
+                + "\"id\":\"pay_W2\",\"order_id\":\"order_W2\",\"status\":\"captured\",\"notes\":[]}}}}";
+        String stray = "{\"entity\":\"event\",\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":{"
+                + "\"id\":\"pay_W3\",\"order_id\":\"order_unknown\",\"status\":\"captured\"}}}}";
+        deliver("evt_W2", captured, PaymentUtils.hmacSha256(captured, "whsec_test"))
+                .andExpect(status().isOk());
+        deliver("evt_W3", stray, PaymentUtils.hmacSha256(stray, "whsec_test"))
+                .andExpect(status().isOk());
+
+        processor.drain();
+
+        assertEquals(PlanType.PREMIUM, userRepository.findById(user.getId()).orElseThrow().getPlan());
+        Map<String, WebhookEventStatus> statuses = eventRepository.findAll().stream()
+                .filter(e -> Set.of("evt_W2", "evt_W3").contains(e.getEventId()))
+                .collect(Collectors.toMap(PaymentWebhookEvent::getEventId, PaymentWebhookEvent::getStatus));
+        assertEquals(Map.of("evt_W2", WebhookEventStatus.APPLIED, "evt_W3", WebhookEventStatus.UNRESOLVED), statuses);
+    }
+
+    @Test
+    void orderPaidFallsBackToTheOrderNotes() throws Exception {
+        User user = new User();
+        user.setEmail("webhook-order-notes@example.com");
+        user = userRepository.save(user);
+
+        String paid = "{\"entity\":\"event\",\"event\":\"order.paid\",\"payload\":{"
+                + "\"payment\":{\"entity\":{\"id\":\"pay_W4\",\"order_id\":\"order_W4\",\"notes\":[]}},"
+                + "\"order\":{\"entity\":{\"id\":\"order_W4\",\"status\":\"paid\","
+                + "\"notes\":{\"user_id\":\"" + user.getId() + "\"}}}}}";
+        deliver("evt_W4", paid, PaymentUtils.hmacSha256(paid, "whsec_test"))
+                .andExpect(status().isOk());
+
+        processor.drain();
+
+        assertEquals(PlanType.PREMIUM, userRepository.findById(user.getId()).orElseThrow().getPlan());
+    }
+
+    private ResultActions deliver(String eventId, String body, String signature) throws Exception {
+        return mockMvc.perform(post("/payment/webhook")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Razorpay-Event-Id", eventId)
+                .header("X-Razorpay-Signature", signature)
+                .content(body));
+    }
+
+    private static String event(String type, String paymentId, String userId) {
+        return "{\"entity\":\"event\",\"event\":\"" + type + "\",\"payload\":{\"payment\":{\"entity\":{"
+                + "\"id\":\"" + paymentId + "\",\"order_id\":\"order_W1\",\"status\":\"captured\","
+                + "\"notes\":{\"user_id\":\"" + userId + "\"}}}}}";
+    }
+}
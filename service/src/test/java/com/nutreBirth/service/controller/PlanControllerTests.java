@@ -0,0 +1,98 @@
+package com.nutreBirth.service.controller;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlanControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Cookie authCookie;
+    private Cookie premiumCookie;
+
+    @BeforeEach
+    void login() {
+        authCookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+        premiumCookie = TestAuth.cookieFor(jwtService, PlanType.PREMIUM);
+    }
+
+    @Test
+    void closestPlanCarriesPrecomputedTotalsAndRevalidatesByEtag() throws Exception {
+        String etag = mockMvc.perform(get("/plans").param("type", "vegetarian").param("calories", "1750")
+                .cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("vegetarian"))
+                .andExpect(jsonPath("$.calories").value(1800))
+                .andExpect(jsonPath("$.meals[0].total.calories").exists())
+                .andExpect(jsonPath("$.meals[0].itemCount").exists())
+                .andExpect(jsonPath("$.meals[0].items").doesNotExist())
+                .andExpect(jsonPath("$.total.protein").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/plans").param("type", "vegetarian").param("calories", "1750")
+                .cookie(authCookie)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void itemMicrosAreScaledByGramsAndSummedPerMeal() throws Exception {
+        // First vegetarian plan, meal 1: Whey Protein 30 g (no catalog row), Rolled Oats 25 g, Almonds 20 g
+        mockMvc.perform(get("/plans/full").param("type", "vegetarian").cookie(premiumCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.plans.length()").value(3))
+                .andExpect(jsonPath("$.plans[0].meals[0].items[0].matchedFood").doesNotExist())
+                .andExpect(jsonPath("$.plans[0].meals[0].items[0].iron_mg").doesNotExist())
+                .andExpect(jsonPath("$.plans[0].meals[0].items[2].matchedFood").value("Almonds"))
+                .andExpect(jsonPath("$.plans[0].meals[0].total.calories").value(340.0))
+                // 10 g fiber/100 g oats * 0.25 + 12 g/100 g almonds * 0.2
+                .andExpect(jsonPath("$.plans[0].meals[0].total.fiber_g").value(4.9))
+                .andExpect(jsonPath("$.plans[0].meals[0].total.iron_mg", closeTo(1.915, 0.01)));
+    }
+
+    @Test
+    void fullPlansRequirePremiumClaim() throws Exception {
+        mockMvc.perform(get("/plans/full").cookie(authCookie))
+                .andExpect(status().isForbidden());
+
+        String summaryEtag = mockMvc.perform(get("/plans").cookie(premiumCookie))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/plans/full").cookie(premiumCookie).header(HttpHeaders.IF_NONE_MATCH, summaryEtag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.plans[0].meals[0].items[0].name").value("Whey Protein"));
+    }
+
+    @Test
+    void unknownTypeHasNoClosestPlan() throws Exception {
+        mockMvc.perform(get("/plans").param("type", "keto").param("calories", "1800").cookie(authCookie))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/plans").param("type", "keto").cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.plans.length()").value(0));
+    }
+}
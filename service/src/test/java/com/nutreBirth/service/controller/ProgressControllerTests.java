@@ -0,0 +1,144 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.DailyRollupService;
+import com.nutreBirth.service.Service.FoodSearchIndex;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProgressControllerTests {
+
+    private static final String ALMONDS = "{\"foodId\":\"almonds\",\"name\":\"Almonds\",\"grams\":20,"
+            + "\"protein\":4.2,\"carbs\":4.3,\"fat\":10,\"calories\":116}";
+    private static final String OATS = "{\"foodId\":\"oats\",\"grams\":40,\"protein\":5.2,\"calories\":150}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private DailyRollupService rollupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoSpyBean
+    private FoodSearchIndex foodIndex;
+
+    private UUID userId;
+    private Cookie authCookie;
+
+    @BeforeEach
+    void login() {
+        User user = TestAuth.user(PlanType.FREE);
+        userId = user.getId();
+        authCookie = TestAuth.cookieFor(jwtService, user);
+    }
+
+    @Test
+    void rollupsFollowMealWritesAndMatchARebuild() throws Exception {
+        mockMvc.perform(post("/meals:batch").cookie(authCookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":\"a\",\"date\":\"2026-10-01\",\"items\":[" + ALMONDS + "," + OATS + "]},"
+                        + "{\"id\":\"b\",\"date\":\"2026-10-01\",\"items\":[" + OATS + "]},"
+                        + "{\"id\":\"c\",\"date\":\"2026-10-02\",\"items\":[" + ALMONDS + "]}]"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/progress").param("from", "2026-10-01").param("to", "2026-10-07").cookie(authCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].date").value("2026-10-01"))
+                .andExpect(jsonPath("$.days[0].meals").value(2))
+                .andExpect(jsonPath("$.days[0].items").value(3))
+                .andExpect(jsonPath("$.days[0].protein").value(14.6))
+                .andExpect(jsonPath("$.days[0].calories").value(416.0))
+                .andExpect(jsonPath("$.days[0].micros.fiber_g").exists())
+                .andExpect(jsonPath("$.total.meals").value(3))
+                .andExpect(jsonPath("$.total.protein").value(18.8));
+
+        // Move c to another day and delete b
+        mockMvc.perform(post("/sync").cookie(authCookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\":\"meal\",\"id\":\"c\",\"updatedAt\":" + (System.currentTimeMillis() + 1000)
+                        + ",\"data\":{\"date\":\"2026-10-03\",\"items\":[" + ALMONDS + "]}},"
+                        + "{\"type\":\"meal\",\"id\":\"b\",\"updatedAt\":" + (System.currentTimeMillis() + 1000)
+                        + ",\"deleted\":true}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(2));
+
+        String incremental = mockMvc.perform(get("/progress").param("from", "2026-10-01").param("to", "2026-10-07")
+                .cookie(authCookie))
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].meals").value(1))
+                .andExpect(jsonPath("$.days[0].protein").value(9.4))
+                .andExpect(jsonPath("$.days[1].date").value("2026-10-03"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(2, rollupService.rebuild(userId));
+        String rebuilt = mockMvc.perform(get("/progress").param("from", "2026-10-01").param("to", "2026-10-07")
+                .cookie(authCookie))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(incremental, rebuilt);
+    }
+
+    @Test
+    void removingAMealSubtractsWhatItAddedAfterCatalogMatchingChanges() throws Exception {
+        mockMvc.perform(post("/meals:batch").cookie(authCookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"id\":\"a\",\"date\":\"2026-10-01\",\"items\":[" + ALMONDS + "]},"
+                        + "{\"id\":\"b\",\"date\":\"2026-10-01\",\"items\":[" + ALMONDS + "]}]"))
+                .andExpect(status().isOk());
+        double fiber = fiberOn("2026-10-01");
+        assertTrue(fiber > 0);
+
+        // Almonds no longer match anything in the catalog
+        doReturn(-1).when(foodIndex).resolve(anyString(), anyDouble());
+        mockMvc.perform(post("/sync").cookie(authCookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\":\"meal\",\"id\":\"b\",\"updatedAt\":" + (System.currentTimeMillis() + 1000)
+                        + ",\"deleted\":true}]"))
+                .andExpect(jsonPath("$.applied").value(1));
+
+        assertEquals(fiber / 2, fiberOn("2026-10-01"), 1e-9);
+    }
+
+    @Test
+    void rejectsInvertedAndOverlongRanges() throws Exception {
+        mockMvc.perform(get("/progress").param("from", "2026-10-07").param("to", "2026-10-01").cookie(authCookie))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/progress").param("from", "2020-01-01").param("to", "2026-10-01").cookie(authCookie))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double fiberOn(String date) throws Exception {
+        String body = mockMvc.perform(get("/progress").param("from", date).param("to", date).cookie(authCookie))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).at("/days/0/micros/fiber_g").asDouble();
+    }
+}
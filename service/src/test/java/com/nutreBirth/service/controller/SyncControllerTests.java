@@ -0,0 +1,191 @@
+package com.nutreBirth.service.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SyncControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Cookie authCookie;
+
+    @BeforeEach
+    void login() {
+        authCookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+    }
+
+    @Test
+    void pullReturnsOnlyRowsChangedSinceTheCursor() throws Exception {
+        push("[" + meal("m1", 1000, "2026-10-01") + ","
+                + "{\"type\":\"profile\",\"updatedAt\":1000,\"data\":{\"heightCm\":170,\"weightKg\":70,"
+                + "\"sex\":\"female\",\"activityLevel\":\"moderate\",\"dietType\":\"vegetarian\"}}]")
+                .andExpect(jsonPath("$.applied").value(2));
+
+        JsonNode first = pull(0);
+        assertEquals(2, first.path("changes").size());
+        assertEquals("female", first.at("/changes/0/sex").asText());
+        assertEquals("m1", first.at("/changes/1/id").asText());
+        assertEquals(2, first.at("/changes/1/items").size());
+        long cursor = first.path("cursor").asLong();
+
+        assertEquals(0, pull(cursor).path("changes").size());
+
+        push("[" + meal("m2", 2000, "2026-10-02") + "]");
+        JsonNode second = pull(cursor);
+        assertEquals(1, second.path("changes").size());
+        assertEquals("m2", second.at("/changes/0/id").asText());
+        assertEquals(false, second.path("hasMore").asBoolean());
+    }
+
+    @Test
+    void lastWriterWinsAndDeletesSyncAsTombstones() throws Exception {
+        push("[" + meal("m1", 2000, "2026-10-01") + "]");
+        long cursor = pull(0).path("cursor").asLong();
+
+        push("[" + meal("m1", 1500, "2026-09-30") + "]")
+                .andExpect(jsonPath("$.applied").value(0))
+                .andExpect(jsonPath("$.stale[0].id").value("m1"));
+        assertEquals(0, pull(cursor).path("changes").size());
+
+        push("[" + meal("m1", 2500, "2026-10-03") + "]").andExpect(jsonPath("$.applied").value(1));
+        JsonNode updated = pull(cursor);
+        assertEquals("2026-10-03", updated.at("/changes/0/date").asText());
+        cursor = updated.path("cursor").asLong();
+
+        push("[{\"type\":\"meal\",\"id\":\"m1\",\"updatedAt\":3000,\"deleted\":true}]");
+        JsonNode deleted = pull(cursor);
+        assertEquals(true, deleted.at("/changes/0/deleted").asBoolean());
+        assertEquals(true, deleted.at("/changes/0/items").isMissingNode());
+    }
+
+    @Test
+    void concurrentPushesKeepTheNewestEdit() throws Exception {
+        push("[" + meal("m1", 1000, "2026-10-01") + "]");
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            for (int round = 0; round < 5; round++) {
+                long base = 2000 + round * 100;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> pushes = new ArrayList<>();
+                for (int i = 0; i < 16; i++) {
+                    // Newest edit last in submission order half of the time, first the other half
+                    long updatedAt = base + (round % 2 == 0 ? i : 15 - i);
+                    String date = "2026-10-" + (10 + updatedAt % 16);
+                    pushes.add(pool.submit(() -> {
+                        start.await();
+                        return push("[" + meal("m1", updatedAt, date) + "]");
+                    }));
+                }
+                start.countDown();
+                for (Future<?> result : pushes) {
+                    result.get();
+                }
+
+                JsonNode meal = pull(0).path("changes").get(0);
+                assertEquals(base + 15, meal.path("updatedAt").asLong());
+                assertEquals("2026-10-" + (10 + (base + 15) % 16), meal.path("date").asText());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void largeHistoryIsPagedByCursor() throws Exception {
+        StringBuilder meals = new StringBuilder("[");
+        for (int i = 0; i < 5; i++) {
+            meals.append(i > 0 ? "," : "").append("{\"id\":\"b").append(i)
+                    .append("\",\"date\":\"2026-10-01\",\"items\":[{\"foodId\":\"oats\",\"grams\":40}]}");
+        }
+        mockMvc.perform(post("/meals:batch").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON).content(meals.append(']').toString()))
+                .andExpect(status().isOk());
+
+        long cursor = 0;
+        int received = 0;
+        int pulls = 0;
+        JsonNode page;
+        do {
+            page = objectMapper.readTree(mockMvc.perform(get("/sync").param("since", String.valueOf(cursor))
+                    .param("limit", "2").cookie(authCookie))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            received += page.path("changes").size();
+            cursor = page.path("cursor").asLong();
+            pulls++;
+        } while (page.path("hasMore").asBoolean());
+        assertEquals(5, received);
+        assertEquals(3, pulls);
+    }
+
+    @Test
+    void cursorAheadOfTheServerTriggersAFullResync() throws Exception {
+        push("[" + meal("m1", 1000, "2026-10-01") + "]");
+        JsonNode page = pull(999);
+        assertEquals(true, page.path("reset").asBoolean());
+        assertEquals(1, page.path("changes").size());
+    }
+
+    @Test
+    void invalidChangeIsRejected() throws Exception {
+        mockMvc.perform(post("/sync").cookie(authCookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\":\"food\",\"id\":\"x\",\"updatedAt\":1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("changes[0]: type must be \"meal\" or \"profile\""));
+    }
+
+    private ResultActions push(String changes) throws Exception {
+        return mockMvc.perform(post("/sync").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON).content(changes))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode pull(long since) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/sync").param("since", String.valueOf(since))
+                .cookie(authCookie))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private static String meal(String id, long updatedAt, String date) {
+        return "{\"type\":\"meal\",\"id\":\"" + id + "\",\"updatedAt\":" + updatedAt + ",\"data\":{\"date\":\""
+                + date + "\",\"items\":[{\"foodId\":\"oats\",\"grams\":40,\"protein\":5.2},"
+                + "{\"foodId\":\"milk\",\"grams\":200}]}}";
+    }
+}
@@ -0,0 +1,82 @@
+package com.nutreBirth.service.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+
+import jakarta.servlet.http.Cookie;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TargetControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Cookie authCookie;
+
+    @BeforeEach
+    void login() {
+        authCookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+    }
+
+    @Test
+    void singleProfileMatchesCalcTargetsDefaults() throws Exception {
+        // calcBMR(70, 170) = 700 + 1062.5 - 150 + 5; calcTDEE(1617.5) = round(2507.125); protein = round(70 * 1.6)
+        mockMvc.perform(post("/targets").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"weightKg\":70,\"heightCm\":170}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bmr").value(1617.5))
+                .andExpect(jsonPath("$.tdee").value(2507))
+                .andExpect(jsonPath("$.proteinG").value(112));
+    }
+
+    @Test
+    void batchKeepsOrderAndReportsInvalidProfilesInPlace() throws Exception {
+        mockMvc.perform(post("/targets/batch").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [
+                          {"weightKg":60,"heightCm":160,"age":25,"sex":"female","activityLevel":"light","goal":"lose"},
+                          {"weightKg":0,"heightCm":170},
+                          {"weightKg":80,"heightCm":180,"age":40,"sex":"other","activityLevel":"active","goal":"maintain"}
+                        ]
+                        """))
+                .andExpect(status().isOk())
+                // 600 + 1000 - 125 - 161
+                .andExpect(jsonPath("$.results[0].bmr").value(1314.0))
+                .andExpect(jsonPath("$.results[0].tdee").value(1807))
+                .andExpect(jsonPath("$.results[0].proteinG").value(84))
+                .andExpect(jsonPath("$.results[1].error").exists())
+                .andExpect(jsonPath("$.results[1].bmr").doesNotExist())
+                // 800 + 1125 - 200 + 5; 'other' uses the male formula like the web app
+                .andExpect(jsonPath("$.results[2].bmr").value(1730.0))
+                .andExpect(jsonPath("$.results[2].tdee").value(2984))
+                .andExpect(jsonPath("$.results[2].proteinG").value(96));
+    }
+
+    @Test
+    void invalidSingleProfileIsBadRequest() throws Exception {
+        mockMvc.perform(post("/targets").cookie(authCookie)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"weightKg\":70,\"heightCm\":170,\"age\":500}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+    }
+}
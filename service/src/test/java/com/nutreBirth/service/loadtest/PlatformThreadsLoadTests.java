@@ -0,0 +1,28 @@
+package com.nutreBirth.service.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Classic thread-per-request: in-flight requests are capped by the Tomcat pool.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + PlatformThreadsLoadTests.MAX_THREADS
+})
+class PlatformThreadsLoadTests extends SlowUpstreamLoadTest {
+
+    static final int MAX_THREADS = 50;
+
+    @Override
+    String model() {
+        return "platform";
+    }
+
+    @Override
+    void assertPeak(int peakInFlight) {
+        assertTrue(peakInFlight <= MAX_THREADS,
+                "platform pool of " + MAX_THREADS + " let " + peakInFlight + " requests wait at once");
+    }
+}
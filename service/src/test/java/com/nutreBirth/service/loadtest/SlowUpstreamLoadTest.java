@@ -0,0 +1,212 @@
+package com.nutreBirth.service.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.GoogleTokenVerifierService;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+import com.sun.net.httpserver.HttpServer;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Fires a burst of logins and create-order calls at a real Tomcat while
+ * Google verification and the Razorpay API each take {@link #UPSTREAM_DELAY}.
+ * Reports the peak number of requests that were inside the slow upstream at
+ * the same time, i.e. how many the server could keep in flight, and the
+ * wall time for the whole burst. Subclasses pick the execution model.
+ *
+ * Tagged "load": excluded from the default build, run with
+ * {@code mvn test -Pload-test}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+abstract class SlowUpstreamLoadTest {
+
+    static final int REQUESTS = 300;
+    static final int WARMUP_REQUESTS = 100;
+    static final Duration UPSTREAM_DELAY = Duration.ofMillis(500);
+
+    // Shared by every subclass' context, so it lives until the test JVM exits
+    private static final HttpServer razorpayStub = startRazorpayStub();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockitoBean
+    private GoogleTokenVerifierService googleTokenVerifier;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("razorpay.api-base-url",
+                () -> "http://127.0.0.1:" + razorpayStub.getAddress().getPort());
+        registry.add("razorpay.key-id", () -> "rzp_test_load");
+        registry.add("razorpay.key-secret", () -> "load-secret");
+        // Measure the server's limit, not the gateway permit limit
+        registry.add("razorpay.max-concurrent-calls", () -> REQUESTS);
+        registry.add("razorpay.acquire-timeout", () -> "PT30S");
+        registry.add("app.access-log.enabled", () -> false);
+    }
+
+    @BeforeEach
+    void slowGoogle() {
+        when(googleTokenVerifier.verify(anyString())).thenAnswer(invocation -> {
+            enterUpstream();
+            try {
+                Thread.sleep(UPSTREAM_DELAY);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+            payload.setEmail(invocation.getArgument(0, String.class) + "@load.example.com");
+            payload.set("name", "Load Test");
+            return payload;
+        });
+    }
+
+    /** Execution model under test, for the report. */
+    abstract String model();
+
+    @Test
+    void burstOfLogins() throws Exception {
+        Result result = burst(i -> HttpRequest.newBuilder(uri("/auth/google"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"idToken\":\"login-" + UUID.randomUUID() + "\"}"))
+                .build());
+        report("logins", result);
+    }
+
+    @Test
+    void burstOfCreateOrders() throws Exception {
+        Cookie auth = TestAuth.cookieFor(jwtService, PlanType.FREE);
+        String cookie = auth.getName() + "=" + auth.getValue();
+
+        Result result = burst(i -> HttpRequest.newBuilder(uri("/payment/create-order"))
+                .header("Cookie", cookie)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+        report("create-order", result);
+    }
+
+    private Result burst(IntFunction<HttpRequest> request) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        // Warm-up so JIT and connection setup are not billed to whichever model runs first
+        send(client, request, WARMUP_REQUESTS);
+
+        inFlight.set(0);
+        peakInFlight.set(0);
+        long start = System.nanoTime();
+        Map<Integer, Integer> statuses = send(client, request, REQUESTS);
+        Duration wall = Duration.ofNanos(System.nanoTime() - start);
+        assertEquals(Map.of(200, REQUESTS), statuses, "every request should eventually succeed");
+        return new Result(peakInFlight.get(), wall);
+    }
+
+    private static Map<Integer, Integer> send(HttpClient client, IntFunction<HttpRequest> request, int count)
+            throws Exception {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            responses.add(client.sendAsync(request.apply(i), HttpResponse.BodyHandlers.discarding()));
+        }
+        Map<Integer, Integer> statuses = new TreeMap<>();
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            statuses.merge(response.get().statusCode(), 1, Integer::sum);
+        }
+        return statuses;
+    }
+
+    private void report(String scenario, Result result) {
+        System.out.printf("[load] %-8s %-12s requests=%d upstream=%dms peak-in-flight=%d wall=%dms%n",
+                model(), scenario, REQUESTS, UPSTREAM_DELAY.toMillis(), result.peakInFlight(),
+                result.wall().toMillis());
+        assertPeak(result.peakInFlight());
+    }
+
+    /** Model-specific expectation about how many requests could wait on the upstream at once. */
+    abstract void assertPeak(int peakInFlight);
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    private static void enterUpstream() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    }
+
+    private static HttpServer startRazorpayStub() {
+        // Default is 200 idle keep-alive connections; beyond that the stub closes
+        // pooled connections under the client and the next POST on them fails
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(REQUESTS * 2));
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+            // The stub itself must never be the bottleneck
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/v1/orders", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                enterUpstream();
+                try {
+                    Thread.sleep(UPSTREAM_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                byte[] body = ("{\"id\":\"order_" + UUID.randomUUID().toString().substring(0, 14)
+                        + "\",\"amount\":19900,\"currency\":\"INR\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(int peakInFlight, Duration wall) {
+    }
+}
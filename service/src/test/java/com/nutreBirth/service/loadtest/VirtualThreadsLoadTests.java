@@ -0,0 +1,27 @@
+package com.nutreBirth.service.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Virtual threads: a request parked on a slow upstream costs no pool slot,
+ * so in-flight requests are no longer capped by server.tomcat.threads.max.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "server.tomcat.threads.max=" + PlatformThreadsLoadTests.MAX_THREADS
+})
+class VirtualThreadsLoadTests extends SlowUpstreamLoadTest {
+
+    @Override
+    String model() {
+        return "virtual";
+    }
+
+    @Override
+    void assertPeak(int peakInFlight) {
+        assertTrue(peakInFlight > PlatformThreadsLoadTests.MAX_THREADS,
+                "virtual threads only reached " + peakInFlight + " concurrent upstream calls");
+    }
+}
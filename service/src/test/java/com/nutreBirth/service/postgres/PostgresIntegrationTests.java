@@ -0,0 +1,183 @@
+package com.nutreBirth.service.postgres;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.nutreBirth.service.Entity.User;
+import com.nutreBirth.service.Enum.PlanType;
+import com.nutreBirth.service.Service.JwtService;
+import com.nutreBirth.service.TestAuth;
+import com.nutreBirth.service.repo.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Runs the "postgres" profile against a real PostgreSQL binary started in
+ * process: Flyway migrations, Hibernate schema validation, the Hikari and
+ * driver settings, index use on the hot lookups, and the meal/sync/rollup
+ * paths that depend on sequences and array columns.
+ *
+ * Tagged "postgres": excluded from the default build, run with
+ * {@code mvn test -Ppostgres-it}.
+ */
+@Tag("postgres")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("postgres")
+class PostgresIntegrationTests {
+
+    // Shared for the test JVM; the binary is unpacked and started once
+    private static final EmbeddedPostgres postgres = start();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> 5);
+        registry.add("spring.datasource.hikari.minimum-idle", () -> 5);
+    }
+
+    @Test
+    void migrationsMatchTheEntityMappings() {
+        // The context only starts if ddl-auto=validate accepted the migrated schema
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void poolAndDriverSettingsAreApplied() {
+        HikariDataSource hikari = (HikariDataSource) dataSource;
+        assertEquals("nutrebirth-db", hikari.getPoolName());
+        assertEquals(5, hikari.getMaximumPoolSize());
+        assertEquals(3000, hikari.getConnectionTimeout());
+        assertEquals(20000, hikari.getLeakDetectionThreshold());
+        assertEquals("3", hikari.getDataSourceProperties().getProperty("prepareThreshold"));
+        assertEquals("true", hikari.getDataSourceProperties().getProperty("reWriteBatchedInserts"));
+        assertEquals("nutrebirth-service", jdbcTemplate.queryForObject("show application_name", String.class));
+    }
+
+    @Test
+    void userLookupsUseIndexes() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            User user = new User();
+            user.setEmail("pg-" + i + "-" + UUID.randomUUID() + "@example.com");
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        jdbcTemplate.execute("analyze users");
+
+        User probe = users.get(1234);
+        assertEquals(probe.getId(), userRepository.findByEmail(probe.getEmail()).orElseThrow().getId());
+
+        String byEmail = plan("explain select * from users where email = ?", probe.getEmail());
+        assertTrue(byEmail.contains("Index Scan using uk_users_email"), byEmail);
+        String byId = plan("explain select * from users where id = ?", probe.getId());
+        assertTrue(byId.contains("Index Scan using users_pkey"), byId);
+    }
+
+    @Test
+    void mealSyncRollupAndHistoryPathsWork() throws Exception {
+        Cookie cookie = TestAuth.cookieFor(jwtService, PlanType.FREE);
+
+        StringBuilder meals = new StringBuilder("[");
+        for (int i = 0; i < 120; i++) {
+            meals.append(i > 0 ? "," : "").append("{\"id\":\"pg-").append(i)
+                    .append("\",\"date\":\"2026-10-0").append(i % 7 + 1).append("\",\"items\":[")
+                    .append("{\"foodId\":\"almonds\",\"name\":\"Almonds\",\"grams\":20,\"protein\":4},")
+                    .append("{\"foodId\":\"oats\",\"grams\":40,\"protein\":5}]}");
+        }
+        mockMvc.perform(post("/meals:batch").cookie(cookie).contentType(MediaType.APPLICATION_JSON)
+                .content(meals.append(']').toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(120))
+                .andExpect(jsonPath("$.items").value(240));
+
+        mockMvc.perform(post("/sync").cookie(cookie).contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"type\":\"meal\",\"id\":\"pg-0\",\"updatedAt\":" + (System.currentTimeMillis() + 1000)
+                        + ",\"deleted\":true}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1));
+
+        mockMvc.perform(get("/sync").param("since", "0").param("limit", "50").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(50))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        mockMvc.perform(get("/progress").param("from", "2026-10-01").param("to", "2026-10-07").cookie(cookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(7))
+                .andExpect(jsonPath("$.total.meals").value(119))
+                .andExpect(jsonPath("$.total.protein").value(1071.0))
+                .andExpect(jsonPath("$.total.micros.fiber_g").exists());
+
+        MvcResult started = mockMvc.perform(get("/export/history").param("format", "csv").cookie(cookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        // Header plus two items for each of the 119 live meals
+        assertEquals(1 + 238, csv.split("\n").length);
+    }
+
+    private String plan(String sql, Object arg) {
+        return String.join("\n", jdbcTemplate.queryForList(sql, String.class, arg));
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.builder().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.nutreBirth.service.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HmacSha256VerifierTests {
+
+    private static final String SECRET = "Ayjd4M7emZCvV8m1DPgfsfQm";
+
+    private final HmacSha256Verifier verifier = new HmacSha256Verifier(SECRET);
+
+    @Test
+    void acceptsSignatureProducedByPaymentUtils() {
+        String signature = PaymentUtils.hmacSha256("order_ABC|pay_XYZ", SECRET);
+
+        assertTrue(verifier.verify("order_ABC", "pay_XYZ", signature));
+        assertTrue(verifier.verify("order_ABC", "pay_XYZ", signature.toUpperCase()));
+        // Thread-local Mac must be reset between calls
+        assertTrue(verifier.verify("order_ABC", "pay_XYZ", signature));
+    }
+
+    @Test
+    void rejectsTamperedOrMalformedSignatures() {
+        String signature = PaymentUtils.hmacSha256("order_ABC|pay_XYZ", SECRET);
+        char last = signature.charAt(signature.length() - 1);
+        String tampered = signature.substring(0, signature.length() - 1) + (last == '0' ? '1' : '0');
+
+        assertFalse(verifier.verify("order_ABC", "pay_XYZ", tampered));
+        assertFalse(verifier.verify("order_ABC", "pay_OTHER", signature));
+        assertFalse(verifier.verify("order_ABC", "pay_XYZ", signature.substring(2)));
+        assertFalse(verifier.verify("order_ABC", "pay_XYZ", "zz" + signature.substring(2)));
+        assertFalse(verifier.verify("order_ABC", "pay_XYZ", null));
+        // A failed decode must not leave data behind in the Mac
+        assertTrue(verifier.verify("order_ABC", "pay_XYZ", signature));
+    }
+
+    @Test
+    void verifiesLongAndNonAsciiInput() {
+        String longId = "order_" + "x".repeat(1000);
+        assertTrue(verifier.verify(longId, "pay_1", PaymentUtils.hmacSha256(longId + "|pay_1", SECRET)));
+        assertTrue(verifier.verify("order_é", "pay_1", PaymentUtils.hmacSha256("order_é|pay_1", SECRET)));
+
+        byte[] body = "{\"event\":\"payment.captured\"}".getBytes(StandardCharsets.UTF_8);
+        assertTrue(verifier.verify(body, PaymentUtils.hmacSha256("{\"event\":\"payment.captured\"}", SECRET)));
+    }
+}